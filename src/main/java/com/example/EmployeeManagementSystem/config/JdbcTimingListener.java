@@ -0,0 +1,45 @@
+package com.example.EmployeeManagementSystem.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds JDBC prepare/execute time to the request's "db" phase. Hibernate creates one
+ * instance per session (hibernate.session.events.auto), so the fields are not shared
+ * between threads.
+ */
+public class JdbcTimingListener implements SessionEventListener {
+
+    private long prepareStart;
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        prepareStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime() - prepareStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTimings.record(RequestTimings.Phase.DB, System.nanoTime() - batchStart);
+    }
+}
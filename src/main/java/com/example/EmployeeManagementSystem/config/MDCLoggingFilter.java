@@ -4,17 +4,57 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
+/**
+ * Outermost filter: assigns the request id (MDC and X-Request-Id header) and measures
+ * the request. Phase timings (auth, svc, db, ser) and the SQL statement count are
+ * collected in {@link RequestTimings}, reported in a Server-Timing header and in one
+ * summary log line, which is logged at WARN when a threshold is exceeded.
+ */
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
 public class MDCLoggingFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(MDCLoggingFilter.class);
+
+    static final String SERVER_TIMING = "Server-Timing";
+
     private static final String REQUEST_ID = "requestId";
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final String REQUEST_ID_ATTRIBUTE = MDCLoggingFilter.class.getName() + ".requestId";
+    private static final String TIMINGS_ATTRIBUTE = MDCLoggingFilter.class.getName() + ".timings";
+    // Inbound ids end up in every log line, so only short, plain tokens are accepted
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final SqlStatementCounter statementCounter;
+    private final long slowThresholdNanos;
+    private final int statementThreshold;
+    private final boolean serverTimingEnabled;
+
+    public MDCLoggingFilter(SqlStatementCounter statementCounter,
+                            @Value("${requests.summary.slow-threshold:PT1S}") Duration slowThreshold,
+                            @Value("${requests.summary.statement-threshold:25}") int statementThreshold,
+                            @Value("${requests.server-timing.enabled:true}") boolean serverTimingEnabled) {
+        this.statementCounter = statementCounter;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.statementThreshold = statementThreshold;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -22,13 +62,77 @@ public class MDCLoggingFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
-        String requestId = UUID.randomUUID().toString();
+        // Async requests (e.g. /auth/login) pass through here again on their final dispatch
+        RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        String requestId = (String) request.getAttribute(REQUEST_ID_ATTRIBUTE);
+        if (timings == null) {
+            requestId = request.getHeader(REQUEST_ID_HEADER);
+            if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+                requestId = newRequestId();
+            }
+            response.setHeader(REQUEST_ID_HEADER, requestId);
+            timings = RequestTimings.create();
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+        }
         MDC.put(REQUEST_ID, requestId);
+        RequestTimings.bind(timings);
 
         try {
             filterChain.doFilter(request, response);
         } finally {
+            // Not done yet if the handler went async; the response is produced on a later dispatch
+            if (!isAsyncStarted(request)) {
+                timings.finish();
+                // Responses without a body (204, 304, ...) never reach ServerTimingResponseAdvice
+                if (serverTimingEnabled && !response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                    response.setHeader(SERVER_TIMING, timings.serverTiming());
+                }
+                summarize(request, response, timings);
+            }
+            RequestTimings.unbind();
             MDC.remove(REQUEST_ID);
         }
     }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void summarize(HttpServletRequest request, HttpServletResponse response, RequestTimings timings) {
+        long elapsed = timings.elapsedNanos();
+        int statements = timings.statements();
+
+        // Only matched routes are tagged, so unknown paths cannot blow up the tag cardinality
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        statementCounter.recordRequest(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN", statements);
+
+        boolean slow = elapsed > slowThresholdNanos;
+        boolean chatty = statements > statementThreshold;
+        String format = "request method={} uri={} status={} totalMs={} authMs={} svcMs={} dbMs={} serMs={} sql={} slow={} sqlHeavy={}";
+        Object[] args = {
+                request.getMethod(), request.getRequestURI(), response.getStatus(),
+                RequestTimings.millis(elapsed),
+                RequestTimings.millis(timings.nanos(RequestTimings.Phase.AUTH)),
+                RequestTimings.millis(timings.nanos(RequestTimings.Phase.SERVICE)),
+                RequestTimings.millis(timings.nanos(RequestTimings.Phase.DB)),
+                RequestTimings.millis(timings.nanos(RequestTimings.Phase.SERIALIZATION)),
+                statements, slow, chatty
+        };
+        if (slow || chatty) {
+            log.warn(format, args);
+        } else {
+            log.info(format, args);
+        }
+    }
+
+    // Random (version 4) UUID from ThreadLocalRandom; UUID.randomUUID() goes through the shared,
+    // lock-protected SecureRandom, which would pin or serialize virtual threads on every request
+    private static String newRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(msb, lsb).toString();
+    }
 }
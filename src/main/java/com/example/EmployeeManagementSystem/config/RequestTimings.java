@@ -0,0 +1,122 @@
+package com.example.EmployeeManagementSystem.config;
+
+import java.util.Locale;
+
+/**
+ * Per-request phase timings and SQL statement count. {@link MDCLoggingFilter} keeps the
+ * instance as a request attribute and binds it to the thread of each dispatch, so async
+ * requests carry it from the initial to the final dispatch. Recording is a no-op on
+ * threads without a bound request (schedulers, import jobs, the login pool).
+ * <p>
+ * Phases overlap: DB time is spent inside service calls, and auth includes any user lookup.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        AUTH("auth"), SERVICE("svc"), DB("db"), SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private int statements;
+    private int serviceDepth;
+    private long serializationStartNanos;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings create() {
+        return new RequestTimings();
+    }
+
+    static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void record(Phase phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.phaseNanos[phase.ordinal()] += nanos;
+        }
+    }
+
+    public static void countStatement() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.statements++;
+        }
+    }
+
+    // Service calls nest (one service calling another); only the outermost call is recorded
+    void enterService() {
+        serviceDepth++;
+    }
+
+    void exitService(long nanos) {
+        if (--serviceDepth == 0) {
+            phaseNanos[Phase.SERVICE.ordinal()] += nanos;
+        }
+    }
+
+    // Called just before the response body is written
+    void markSerializationStart() {
+        if (serializationStartNanos == 0) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    // Called once the handler chain has returned
+    void finish() {
+        if (serializationStartNanos != 0) {
+            phaseNanos[Phase.SERIALIZATION.ordinal()] = System.nanoTime() - serializationStartNanos;
+        }
+    }
+
+    long nanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    // e.g. auth;dur=0.41, svc;dur=12.70, db;dur=9.85;desc="4 statements", total;dur=13.92
+    String serverTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long nanos = phaseNanos[phase.ordinal()];
+            if (nanos > 0 || (phase == Phase.DB && statements > 0)) {
+                header.append(phase.metricName).append(";dur=").append(millis(nanos));
+                if (phase == Phase.DB) {
+                    header.append(";desc=\"").append(statements).append(" statements\"");
+                }
+                header.append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.EmployeeManagementSystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the Server-Timing header right before a response body is written, which is the
+ * last point where headers can still be set. Serialization itself is timed from here
+ * and only shows up in the request summary log line.
+ */
+@ControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final boolean serverTimingEnabled;
+
+    public ServerTimingResponseAdvice(@Value("${requests.server-timing.enabled:true}") boolean serverTimingEnabled) {
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            if (serverTimingEnabled) {
+                response.getHeaders().set(MDCLoggingFilter.SERVER_TIMING, timings.serverTiming());
+            }
+            timings.markSerializationStart();
+        }
+        return body;
+    }
+}
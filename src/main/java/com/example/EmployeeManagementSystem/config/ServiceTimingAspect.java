@@ -0,0 +1,27 @@
+package com.example.EmployeeManagementSystem.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Adds the time spent in the service interfaces (EmployeeService, DepartmentService, ...) to the request's "svc" phase
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Around("execution(* com.example.EmployeeManagementSystem.service.*.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        timings.enterService();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.exitService(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.EmployeeManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hooks Hibernate into {@link RequestTimings}: counts every SQL statement Hibernate
+ * prepares on a request thread and registers {@link JdbcTimingListener} for DB time.
+ * Owns the per-endpoint hibernate.request.statements histogram.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // One sample per finished HTTP request, tagged with its method and route
+    public void recordRequest(String method, String uri, int statements) {
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestTimings.countStatement();
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+    }
+}
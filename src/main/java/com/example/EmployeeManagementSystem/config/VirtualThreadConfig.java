@@ -0,0 +1,53 @@
+package com.example.EmployeeManagementSystem.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for spring.threads.virtual.enabled=true. Spring Boot already moves
+ * Tomcat request handling, @Async and @Scheduled onto virtual threads; this bounds
+ * how many of them may hold a database connection at the same time.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Static so that it is registered before the DataSource bean is created
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+                // Defaults to the Hikari pool size so waiting happens here rather than inside the pool
+                int maxConnections = environment.getProperty("datasource.concurrency.max-connections", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration acquireTimeout = environment.getProperty("datasource.concurrency.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(5));
+                return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("datasource.concurrency.available", limited, ConnectionLimitingDataSource::availablePermits)
+                        .description("Connection permits not currently held")
+                        .register(registry);
+            }
+        };
+    }
+}
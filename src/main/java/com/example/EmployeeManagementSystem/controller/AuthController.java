@@ -1,39 +1,112 @@
 package com.example.EmployeeManagementSystem.controller;
 
+import com.example.EmployeeManagementSystem.exceptions.UnauthorizedException;
 import com.example.EmployeeManagementSystem.security.JwtUtil;
+import com.example.EmployeeManagementSystem.security.LoginExecutor;
+import com.example.EmployeeManagementSystem.security.TokenRevocationList;
+import com.example.EmployeeManagementSystem.service.Impl.CustomUserDetailsService;
+import com.example.EmployeeManagementSystem.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.annotation.Timed;
 import lombok.Data;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
+@Timed(value = "api.controller", histogram = true)
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
 
-    private final AuthenticationManager authManager;
+    private final LoginExecutor loginExecutor;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final AsyncTaskExecutor taskExecutor;
 
-    public AuthController(AuthenticationManager authManager, JwtUtil jwtUtil) {
-        this.authManager = authManager;
+    public AuthController(LoginExecutor loginExecutor,
+                          JwtUtil jwtUtil,
+                          RefreshTokenService refreshTokenService,
+                          CustomUserDetailsService userDetailsService,
+                          TokenRevocationList revocationList,
+                          @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                          AsyncTaskExecutor taskExecutor) {
+        this.loginExecutor = loginExecutor;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.taskExecutor = taskExecutor;
     }
 
 
+    // Password verification runs on the bounded login pool; the servlet thread is released meanwhile.
+    // Issuing the tokens writes to the database, so it continues on the application task executor
+    // and the login pool only ever runs BCrypt
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
-        Authentication authentication = authManager.authenticate(
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request) {
+        return loginExecutor.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+        ).thenApplyAsync(authentication -> {
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            String role = userDetails.getAuthorities().iterator().next().getAuthority();
+
+            String token = jwtUtil.generateToken(userDetails.getUsername(), role);
+            String refreshToken = refreshTokenService.issue(userDetails.getUsername());
+
+            return ResponseEntity.ok(new JwtResponse(token, refreshToken, userDetails.getUsername(), role));
+        }, taskExecutor);
+    }
+
+    // Exchange a refresh token for a new access token without re-checking the password
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        // Current role comes from the (cached) user record, so role changes apply on refresh
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(rotation.username());
+        } catch (UsernameNotFoundException e) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            throw new UnauthorizedException("User no longer exists");
+        }
         String role = userDetails.getAuthorities().iterator().next().getAuthority();
 
         String token = jwtUtil.generateToken(userDetails.getUsername(), role);
 
-        return ResponseEntity.ok(new JwtResponse(token, userDetails.getUsername(), role));
+        return ResponseEntity.ok(new JwtResponse(token, rotation.refreshToken(), userDetails.getUsername(), role));
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody RefreshRequest request) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Revoke the presented access token (by jti) and, if supplied, the refresh token
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                       @RequestBody(required = false) RefreshRequest request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            Claims claims = jwtUtil.parseClaims(authHeader.substring(7));
+            if (claims != null) {
+                revocationList.revoke(claims.getId(), claims.getExpiration());
+            }
+        }
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
     }
 
     @Data
@@ -42,9 +115,15 @@ public class AuthController {
         private String password;
     }
 
+    @Data
+    static class RefreshRequest {
+        private String refreshToken;
+    }
+
     @Data
     static class JwtResponse {
         private final String token;
+        private final String refreshToken;
         private final String username;
         private final String role;
     }
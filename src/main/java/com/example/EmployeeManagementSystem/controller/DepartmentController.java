@@ -1,17 +1,29 @@
 package com.example.EmployeeManagementSystem.controller;
 
+import com.example.EmployeeManagementSystem.dto.DepartmentDeleteResponse;
 import com.example.EmployeeManagementSystem.dto.DepartmentRequest;
 import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
+import com.example.EmployeeManagementSystem.dto.DepartmentStatsResponse;
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import com.example.EmployeeManagementSystem.mapper.DepartmentMapper;
 import com.example.EmployeeManagementSystem.service.DepartmentService;
+import com.example.EmployeeManagementSystem.service.DepartmentStatsService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -20,30 +32,91 @@ import java.util.List;
  * Controller for managing Department entities.
  * Provides APIs to create, read, update, and delete departments.
  */
+@Timed(value = "api.controller", histogram = true)
 @RestController
 @RequestMapping("/api/departments")
 @RequiredArgsConstructor
 @Tag(name = "Department Management", description = "APIs for managing departments")
 public class DepartmentController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_EMBEDDED_EMPLOYEES = 500;
+
     private final DepartmentService departmentService;
+    private final DepartmentStatsService departmentStatsService;
 
     /**
-     * Get all departments.
+     * Get departments page by page.
+     * Employees are embedded only with include=employees, capped per department.
      *
-     * @return List of all DepartmentResponse objects.
+     * @param page         Zero-based page index
+     * @param size         Page size
+     * @param include      Pass "employees" to embed each department's employees
+     * @param maxEmployees Maximum number of employees embedded per department
+     * @return Page of DepartmentResponse objects.
      */
-    @Operation(summary = "Get all departments", description = "Retrieve a list of all departments")
+    @Operation(summary = "Get all departments",
+            description = "Retrieve departments with pagination; use include=employees to embed employees (capped per department)")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging parameters")
     })
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping
-    public ResponseEntity<List<DepartmentResponse>> getAllDepartments() {
-        List<DepartmentResponse> departments = departmentService.getAll();
+    public ResponseEntity<Page<DepartmentResponse>> getAllDepartments(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String include,
+            @RequestParam(defaultValue = "50") int maxEmployees) {
+
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (maxEmployees < 1 || maxEmployees > MAX_EMBEDDED_EMPLOYEES) {
+            throw new BadRequestException("maxEmployees must be between 1 and " + MAX_EMBEDDED_EMPLOYEES);
+        }
+
+        boolean includeEmployees = "employees".equalsIgnoreCase(include);
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+
+        Page<DepartmentResponse> departments = departmentService.getAll(pageable, includeEmployees, maxEmployees);
         return ResponseEntity.ok(departments);
     }
 
+    /**
+     * Get headcount and salary aggregates for every department.
+     *
+     * @return List of DepartmentStatsResponse ordered by department ID
+     */
+    @Operation(summary = "Get statistics of all departments",
+            description = "Headcount and salary sum/avg/min/max per department, served from in-memory aggregates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/stats")
+    public ResponseEntity<List<DepartmentStatsResponse>> getAllDepartmentStats() {
+        return ResponseEntity.ok(departmentStatsService.getAllStats());
+    }
+
+    /**
+     * Get headcount and salary aggregates for one department.
+     *
+     * @param id Department ID
+     * @return DepartmentStatsResponse
+     */
+    @Operation(summary = "Get department statistics",
+            description = "Headcount and salary sum/avg/min/max of a department, served from in-memory aggregates")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics"),
+            @ApiResponse(responseCode = "404", description = "Department not found")
+    })
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<DepartmentStatsResponse> getDepartmentStats(@PathVariable Long id) {
+        return ResponseEntity.ok(departmentStatsService.getStats(id));
+    }
+
     /**
      * Get a department by ID.
      *
@@ -53,13 +126,18 @@ public class DepartmentController {
     @Operation(summary = "Get department by ID", description = "Retrieve a department by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved department"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Department not found")
     })
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping("/{id}")
-    public ResponseEntity<DepartmentResponse> getDepartmentById(@PathVariable Long id) {
+    public ResponseEntity<DepartmentResponse> getDepartmentById(@PathVariable Long id, WebRequest webRequest) {
+        // Version-only check first: a 304 never loads the department and its employees
+        if (webRequest.checkNotModified(VersionETags.of(departmentService.getContentVersion(id)))) {
+            return null;
+        }
         DepartmentResponse department = departmentService.getById(id);
-        return ResponseEntity.ok(department);
+        return ResponseEntity.ok().eTag(VersionETags.of(DepartmentMapper.contentVersion(department))).body(department);
     }
 
     /**
@@ -88,37 +166,42 @@ public class DepartmentController {
      *
      * @param id                Department ID
      * @param departmentRequest Request object containing updated details
+     * @param ifMatch           Optional ETag the client last saw; the update is refused if it is stale
      * @return Updated DepartmentResponse
      */
     @Operation(summary = "Update department", description = "Update department name and location only")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Department updated successfully"),
             @ApiResponse(responseCode = "404", description = "Department not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409", description = "Concurrent modification"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<DepartmentResponse> updateDepartment(
             @PathVariable Long id,
-            @Valid @RequestBody DepartmentRequest departmentRequest) {
-        DepartmentResponse updated = departmentService.update(id, departmentRequest);
-        return ResponseEntity.ok(updated);
+            @Valid @RequestBody DepartmentRequest departmentRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        DepartmentResponse updated = departmentService.update(id, departmentRequest, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.of(DepartmentMapper.contentVersion(updated))).body(updated);
     }
 
     /**
      * Delete a department by ID.
      *
      * @param id Department ID
+     * @return DepartmentDeleteResponse with the number of unlinked employees
      */
     @Operation(summary = "Delete department", description = "Delete a department and unlink its employees")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "204", description = "Department deleted successfully"),
+            @ApiResponse(responseCode = "200", description = "Department deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Department not found")
     })
     @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteDepartment(@PathVariable Long id) {
-        departmentService.delete(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DepartmentDeleteResponse> deleteDepartment(@PathVariable Long id) {
+        DepartmentDeleteResponse result = departmentService.delete(id);
+        return ResponseEntity.ok(result);
     }
 }
@@ -1,37 +1,72 @@
 package com.example.EmployeeManagementSystem.controller;
 
+import com.example.EmployeeManagementSystem.dto.BatchCreateResponse;
+import com.example.EmployeeManagementSystem.dto.CursorPageResponse;
+import com.example.EmployeeManagementSystem.dto.EmployeeFilter;
+import com.example.EmployeeManagementSystem.dto.EmployeePatchRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
+import com.example.EmployeeManagementSystem.dto.EmployeeSortField;
+import com.example.EmployeeManagementSystem.dto.ExportFormat;
+import com.example.EmployeeManagementSystem.dto.ImportJobResponse;
+import com.example.EmployeeManagementSystem.dto.SliceResponse;
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import com.example.EmployeeManagementSystem.mapper.EmployeeCursorMapper;
+import com.example.EmployeeManagementSystem.service.EmployeeImportService;
 import com.example.EmployeeManagementSystem.service.EmployeeService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * REST Controller for managing Employee entities.
  * Provides endpoints to create, read, update, and delete employees.
  */
+@Timed(value = "api.controller", histogram = true)
 @RestController
 @RequestMapping("/api/employees")
 @RequiredArgsConstructor
 @Tag(name = "Employees", description = "Employee management APIs")
 public class EmployeeController {
 
+    private static final int MAX_SCROLL_SIZE = 1000;
+
+    private static final int MAX_SEARCH_SIZE = 100;
+
+    private static final int MAX_FILTER_DEPARTMENTS = 100;
+
     private final EmployeeService employeeService;
 
+    private final EmployeeImportService employeeImportService;
+
     /**
      * Create a new employee.
      *
@@ -49,45 +84,281 @@ public class EmployeeController {
     }
 
     /**
-     * Get all employees with optional department filter and pagination.
+     * Create many employees in one request.
+     * Items are validated individually; valid ones are inserted in JDBC batches.
+     *
+     * @param requests List of EmployeeRequest
+     * @return BatchCreateResponse with per-item results
+     */
+    @Operation(summary = "Create employees in batch",
+            description = "Validate a list of employees, resolve departments in one query and insert valid items in JDBC batches")
+    @ApiResponse(responseCode = "201", description = "All employees created",
+            content = @Content(schema = @Schema(implementation = BatchCreateResponse.class)))
+    @ApiResponse(responseCode = "200", description = "Some items were rejected; see per-item results")
+    @ApiResponse(responseCode = "400", description = "Batch too large")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createEmployees(@RequestBody List<EmployeeRequest> requests) {
+        BatchCreateResponse result = employeeService.createBatch(requests);
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /**
+     * Get all employees with optional, combinable filters and pagination.
      *
-     * @param department Optional department name to filter employees
-     * @param pageable   Pageable object for pagination and sorting
+     * @param departmentName Optional department name to filter employees
+     * @param departmentIds  Optional set of department IDs
+     * @param minSalary      Optional inclusive lower salary bound
+     * @param maxSalary      Optional inclusive upper salary bound
+     * @param lastNamePrefix Optional last-name prefix
+     * @param emailDomain    Optional e-mail domain, e.g. example.com
      * @return Page of EmployeeResponse
      */
-    @Operation(summary = "Get all employees", description = "Retrieve all employees with optional department filter and pagination")
+    @Operation(summary = "Get all employees",
+            description = "Retrieve employees with optional department, salary range, last-name prefix and email-domain filters, combined with AND")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved employees",
             content = @Content(schema = @Schema(implementation = EmployeeResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid filter")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping
     public ResponseEntity<Page<EmployeeResponse>> getAllEmployees(
             @RequestParam(required = false) String departmentName,
+            @RequestParam(required = false) List<Long> departmentIds,
+            @RequestParam(required = false) BigDecimal minSalary,
+            @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(required = false) String lastNamePrefix,
+            @RequestParam(required = false) String emailDomain,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
+            throw new BadRequestException("minSalary must not be greater than maxSalary");
+        }
+        if (departmentIds != null && departmentIds.size() > MAX_FILTER_DEPARTMENTS) {
+            throw new BadRequestException("At most " + MAX_FILTER_DEPARTMENTS + " departmentIds may be given");
+        }
+
+        // Only indexed fields, always with id as tiebreaker; anything else is rejected before reaching MySQL
+        Sort sort = EmployeeSortField.from(sortBy).sort(EmployeeSortField.direction(sortDir));
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<EmployeeResponse> employees = employeeService.getAll(departmentName, pageable);
+        EmployeeFilter filter = new EmployeeFilter();
+        filter.setDepartmentName(departmentName);
+        filter.setDepartmentIds(departmentIds);
+        filter.setMinSalary(minSalary);
+        filter.setMaxSalary(maxSalary);
+        filter.setLastNamePrefix(lastNamePrefix);
+        filter.setEmailDomain(emailDomain);
+
+        Page<EmployeeResponse> employees = employeeService.getAll(filter, pageable);
         return ResponseEntity.ok(employees);
     }
+    /**
+     * Get employees page by page without a total count.
+     *
+     * @param departmentName Optional department name to filter employees
+     * @param withTotal      Include a cached approximate total (may be null until first computed)
+     * @return SliceResponse of EmployeeResponse
+     */
+    @Operation(summary = "Get employees without total count",
+            description = "Like the paged listing but skips the COUNT query; reports only whether a next page exists")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved employees")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/slice")
+    public ResponseEntity<SliceResponse<EmployeeResponse>> getEmployeeSlice(
+            @RequestParam(required = false) String departmentName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        // Only indexed fields, always with id as tiebreaker; anything else is rejected before reaching MySQL
+        Sort sort = EmployeeSortField.from(sortBy).sort(EmployeeSortField.direction(sortDir));
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        Slice<EmployeeResponse> slice = employeeService.getSlice(departmentName, pageable);
+        Long approximateTotal = withTotal ? employeeService.estimateTotal(departmentName) : null;
+        return ResponseEntity.ok(new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.hasNext(), approximateTotal));
+    }
+
+    /**
+     * Search employees by name or e-mail.
+     * Queries of three or more characters match substrings; shorter ones match prefixes.
+     *
+     * @param q    Search text
+     * @param page Page number
+     * @param size Page size
+     * @return Page of EmployeeResponse, best matches first
+     */
+    @Operation(summary = "Search employees",
+            description = "Ranked prefix/substring search over first name, last name and email, served from an in-memory index")
+    @ApiResponse(responseCode = "200", description = "Successfully searched employees")
+    @ApiResponse(responseCode = "400", description = "Missing query or invalid paging")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/search")
+    public ResponseEntity<Page<EmployeeResponse>> searchEmployees(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        if (q.isBlank()) {
+            throw new BadRequestException("q must not be blank");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_SEARCH_SIZE);
+        }
+        return ResponseEntity.ok(employeeService.search(q, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Walk employees with keyset (cursor) pagination.
+     * The first call takes sortBy/sortDir; follow-up calls pass only the returned cursor.
+     *
+     * @param departmentName Optional department name to filter employees
+     * @param cursor         Continuation token from the previous page
+     * @param size           Page size
+     * @param sortBy         Sort property for the first page
+     * @param sortDir        Sort direction for the first page
+     * @return CursorPageResponse of EmployeeResponse
+     */
+    @Operation(summary = "Scroll employees",
+            description = "Cursor-based pagination that seeks from the last seen sort key and id; no offset scan and no count query")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved employees")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or sort")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponse<EmployeeResponse>> scrollEmployees(
+            @RequestParam(required = false) String departmentName,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        if (size < 1 || size > MAX_SCROLL_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_SCROLL_SIZE);
+        }
+
+        EmployeeCursorMapper.EmployeeCursor position = cursor != null && !cursor.isBlank()
+                ? EmployeeCursorMapper.decode(cursor)
+                : new EmployeeCursorMapper.EmployeeCursor(
+                        EmployeeCursorMapper.seekSort(sortBy, EmployeeSortField.direction(sortDir)),
+                        ScrollPosition.keyset());
+
+        Window<EmployeeResponse> window =
+                employeeService.scroll(departmentName, position.position(), position.sort(), size);
+
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? EmployeeCursorMapper.encode(position.sort(), window.positionAt(window.size() - 1))
+                : null;
+        return ResponseEntity.ok(new CursorPageResponse<>(window.getContent(), window.size(), window.hasNext(), nextCursor));
+    }
+
+    /**
+     * Stream every employee as NDJSON or CSV.
+     * Rows are read through a forward-only cursor and written as they arrive.
+     *
+     * @param departmentName Optional department name to filter employees
+     * @param format         ndjson (default) or csv
+     * @param response       Servlet response the rows are written to
+     */
+    @Operation(summary = "Export employees",
+            description = "Stream all employees, optionally filtered by department, as NDJSON or CSV without paging")
+    @ApiResponse(responseCode = "200", description = "Export streamed")
+    @ApiResponse(responseCode = "400", description = "Unsupported format")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @GetMapping("/export")
+    public void exportEmployees(
+            @RequestParam(required = false) String departmentName,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"employees." + exportFormat.getExtension() + "\"");
+        employeeService.export(departmentName, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Upload an employee CSV and import it in the background.
+     * Columns are matched by header name: firstName, lastName, email, phone, salary, departmentName.
+     *
+     * @param file CSV file
+     * @return ImportJobResponse of the queued job
+     */
+    @Operation(summary = "Import employees from CSV",
+            description = "Queue a background import; rows are validated in parallel and written in transactional chunks")
+    @ApiResponse(responseCode = "202", description = "Import queued",
+            content = @Content(schema = @Schema(implementation = ImportJobResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Missing or empty file")
+    @ApiResponse(responseCode = "503", description = "Too many imports in progress")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> importEmployees(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportJobResponse job = employeeImportService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/employees/import/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Get the progress of an import job.
+     *
+     * @param jobId Import job ID
+     * @return ImportJobResponse
+     */
+    @Operation(summary = "Get import job", description = "Progress, throughput and row-level errors of an import job")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved job")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(employeeImportService.getJob(jobId));
+    }
+
+    /**
+     * Re-run the chunks of an import job that failed after their retries.
+     *
+     * @param jobId Import job ID
+     * @return ImportJobResponse
+     */
+    @Operation(summary = "Retry failed import chunks", description = "Write again only the chunks that failed; the rest of the file is not reprocessed")
+    @ApiResponse(responseCode = "202", description = "Retry queued")
+    @ApiResponse(responseCode = "400", description = "Job still running or nothing to retry")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import/{jobId}/retry")
+    public ResponseEntity<ImportJobResponse> retryImportJob(@PathVariable String jobId) {
+        return ResponseEntity.accepted().body(employeeImportService.retryFailedChunks(jobId));
+    }
+
     /**
      * Get an employee by ID.
+     * Sends the row version as a strong ETag; a matching If-None-Match gets 304 without loading the employee.
      *
-     * @param id Employee ID
+     * @param id         Employee ID
+     * @param webRequest Current request, for the If-None-Match check
      * @return EmployeeResponse
      */
     @Operation(summary = "Get employee by ID", description = "Retrieve an employee by its ID")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved employee",
             content = @Content(schema = @Schema(implementation = EmployeeResponse.class)))
+    @ApiResponse(responseCode = "304", description = "Not modified since the given ETag")
     @ApiResponse(responseCode = "404", description = "Employee not found")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(VersionETags.of(employeeService.getVersion(id)))) {
+            return null;
+        }
         EmployeeResponse response = employeeService.getById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(VersionETags.of(response.getVersion())).body(response);
     }
 
     /**
@@ -95,19 +366,48 @@ public class EmployeeController {
      *
      * @param id      Employee ID
      * @param request EmployeeRequest with updated details
+     * @param ifMatch Optional ETag the client last saw; the update is refused if it is stale
      * @return Updated EmployeeResponse
      */
     @Operation(summary = "Update employee", description = "Update employee details")
     @ApiResponse(responseCode = "200", description = "Employee updated successfully",
             content = @Content(schema = @Schema(implementation = EmployeeResponse.class)))
     @ApiResponse(responseCode = "404", description = "Employee not found")
+    @ApiResponse(responseCode = "409", description = "Concurrent modification")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
     @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/{id}")
     public ResponseEntity<EmployeeResponse> updateEmployee(
             @PathVariable Long id,
-            @Valid @RequestBody EmployeeRequest request) {
-        EmployeeResponse updated = employeeService.updateEmployee(id, request);
-        return ResponseEntity.ok(updated);
+            @Valid @RequestBody EmployeeRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeResponse updated = employeeService.updateEmployee(id, request, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.of(updated.getVersion())).body(updated);
+    }
+
+    /**
+     * Partially update an employee.
+     * Only the fields present in the body are changed; the department is looked up only if departmentId changes.
+     *
+     * @param id      Employee ID
+     * @param patch   EmployeePatchRequest with the fields to change
+     * @param ifMatch Optional ETag the client last saw; the update is refused if it is stale
+     * @return Updated EmployeeResponse
+     */
+    @Operation(summary = "Patch employee", description = "Update only the given employee fields")
+    @ApiResponse(responseCode = "200", description = "Employee updated successfully",
+            content = @Content(schema = @Schema(implementation = EmployeeResponse.class)))
+    @ApiResponse(responseCode = "404", description = "Employee or department not found")
+    @ApiResponse(responseCode = "409", description = "Concurrent modification")
+    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<EmployeeResponse> patchEmployee(
+            @PathVariable Long id,
+            @Valid @RequestBody EmployeePatchRequest patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        EmployeeResponse updated = employeeService.patchEmployee(id, patch, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.of(updated.getVersion())).body(updated);
     }
 
     /**
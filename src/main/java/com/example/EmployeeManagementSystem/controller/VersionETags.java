@@ -0,0 +1,43 @@
+package com.example.EmployeeManagementSystem.controller;
+
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+
+/**
+ * Strong ETags derived from an entity's row version: version 7 is sent as "7".
+ * Department ETags append an employee fingerprint ("7-42-118-9f3a01c2"); If-Match
+ * only compares the leading row version.
+ */
+final class VersionETags {
+
+    private VersionETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    static String of(String contentVersion) {
+        return "\"" + contentVersion + "\"";
+    }
+
+    // If-Match value -> expected version; null when absent or "*"
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new BadRequestException("If-Match requires a strong ETag");
+        }
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new BadRequestException("Malformed If-Match header");
+        }
+        String tag = value.substring(1, value.length() - 1);
+        int fingerprint = tag.indexOf('-');
+        try {
+            return Long.parseLong(fingerprint >= 0 ? tag.substring(0, fingerprint) : tag);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed If-Match header");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO summarising a batch employee creation.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Result of a batch employee creation")
+public class BatchCreateResponse {
+
+    @Schema(description = "Number of employees created", example = "4998")
+    private int created;
+
+    @Schema(description = "Number of items rejected", example = "2")
+    private int failed;
+
+    @Schema(description = "Per-item results in request order")
+    private List<BatchItemResult> results;
+}
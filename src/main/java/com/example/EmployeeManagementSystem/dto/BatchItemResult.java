@@ -0,0 +1,34 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO with the outcome of one item in a batch request.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Outcome of a single item in a batch request")
+public class BatchItemResult {
+
+    @Schema(description = "Position of the item in the request list", example = "0")
+    private int index;
+
+    @Schema(description = "CREATED or FAILED", example = "CREATED")
+    private String status;
+
+    @Schema(description = "ID of the created employee", example = "101")
+    private Long id;
+
+    @Schema(description = "Why the item was rejected", example = "email: must be a well-formed email address")
+    private String error;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, "CREATED", id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, "FAILED", null, error);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for one window of a cursor (keyset) paginated listing.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "One page of a cursor-paginated listing")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "Items of this page")
+    private List<T> content;
+
+    @Schema(description = "Number of items in this page", example = "50")
+    private int size;
+
+    @Schema(description = "Whether more items follow")
+    private boolean hasNext;
+
+    @Schema(description = "Opaque token for the next page; null when there is none",
+            example = "eyJzb3J0IjoiaWQiLCJkaXIiOiJBU0MiLCJrZXlzIjp7ImlkIjoiNDIifX0")
+    private String nextCursor;
+}
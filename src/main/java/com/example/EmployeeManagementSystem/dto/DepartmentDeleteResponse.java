@@ -0,0 +1,20 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO describing the outcome of a department deletion.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Result of deleting a department")
+public class DepartmentDeleteResponse {
+
+    @Schema(description = "ID of the deleted department", example = "10")
+    private Long departmentId;
+
+    @Schema(description = "Number of employees whose department reference was cleared", example = "250")
+    private long unlinkedEmployees;
+}
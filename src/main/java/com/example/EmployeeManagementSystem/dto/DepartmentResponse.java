@@ -36,5 +36,17 @@ public class DepartmentResponse {
     )
     private List<EmployeeResponse> employees; // optional
 
+    @Schema(
+            description = "Total number of employees in the department; set when employees are embedded in a listing",
+            example = "42"
+    )
+    private Long employeeCount; // optional
+
+    @Schema(
+            description = "Row version of the department itself; the ETag adds a fingerprint of its employees, and If-Match is checked against this part",
+            example = "3"
+    )
+    private Long version;
+
     // Lombok @Data generates getters, setters, toString, etc.
 }
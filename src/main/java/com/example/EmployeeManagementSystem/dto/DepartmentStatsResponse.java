@@ -0,0 +1,32 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO with headcount and salary aggregates of a department.
+ */
+@Data
+@Schema(description = "Headcount and salary aggregates of a department")
+public class DepartmentStatsResponse {
+
+    @Schema(description = "Unique identifier of the department", example = "1")
+    private Long departmentId;
+
+    @Schema(description = "Number of employees in the department", example = "42")
+    private long headcount;
+
+    @Schema(description = "Sum of all salaries", example = "2310000.00")
+    private BigDecimal salarySum;
+
+    @Schema(description = "Average salary, null for an empty department", example = "55000.00")
+    private BigDecimal salaryAvg;
+
+    @Schema(description = "Lowest salary, null for an empty department", example = "30000.00")
+    private BigDecimal salaryMin;
+
+    @Schema(description = "Highest salary, null for an empty department", example = "120000.00")
+    private BigDecimal salaryMax;
+}
@@ -0,0 +1,33 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Optional, combinable criteria for the employee listing; null fields are ignored.
+ */
+@Data
+public class EmployeeFilter {
+
+    private String departmentName;
+
+    private List<Long> departmentIds;
+
+    private BigDecimal minSalary;
+
+    private BigDecimal maxSalary;
+
+    private String lastNamePrefix;
+
+    private String emailDomain;
+
+    // True when only the department name (or nothing) is set, i.e. the plain listing applies
+    public boolean hasOnlyDepartmentName() {
+        return (departmentIds == null || departmentIds.isEmpty())
+                && minSalary == null && maxSalary == null
+                && (lastNamePrefix == null || lastNamePrefix.isBlank())
+                && (emailDomain == null || emailDomain.isBlank());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update of an employee: a null field is left unchanged.
+ */
+@Data
+@Schema(description = "Request payload for partially updating an employee; omitted fields are left unchanged")
+public class EmployeePatchRequest {
+
+    @Size(min = 1, max = 50)
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Schema(description = "First name of the employee", example = "John")
+    private String firstName;
+
+    @Size(min = 1, max = 50)
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Schema(description = "Last name of the employee", example = "Doe")
+    private String lastName;
+
+    @Email
+    @Size(max = 100)
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Schema(description = "Email address of the employee", example = "john.doe@example.com")
+    private String email;
+
+    @Pattern(regexp = "\\d{10}", message = "Phone must be 10 digits")
+    @Schema(description = "Phone number of the employee", example = "9876543210")
+    private String phone;
+
+    @Positive
+    @Digits(integer = 8, fraction = 2)
+    @Schema(description = "Salary of the employee", example = "55000.75")
+    private BigDecimal salary;
+
+    @Schema(description = "ID of the new department; the department is only looked up when it changes", example = "2")
+    private Long departmentId;
+
+    @Schema(description = "Set to true to remove the employee from its department", example = "false")
+    private Boolean clearDepartment;
+
+    // Moving to a department and leaving it in the same request is ambiguous; rejected with 400
+    @JsonIgnore
+    @AssertTrue(message = "departmentId cannot be combined with clearDepartment=true")
+    public boolean isDepartmentChangeUnambiguous() {
+        return !(Boolean.TRUE.equals(clearDepartment) && departmentId != null);
+    }
+}
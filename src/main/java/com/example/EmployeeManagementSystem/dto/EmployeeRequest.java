@@ -19,7 +19,7 @@ public class EmployeeRequest {
     @Schema(description = "Last name of the employee", example = "Doe")
     private String lastName;
 
-    @NotBlank @Email
+    @NotBlank @Email @Size(max = 100)
     @Schema(description = "Email address of the employee", example = "john.doe@example.com")
     private String email;
 
@@ -29,6 +29,7 @@ public class EmployeeRequest {
 
     @NotNull
     @Positive
+    @Digits(integer = 8, fraction = 2)
     @Schema(description = "Salary of the employee", example = "55000.75")
     private BigDecimal salary;
 
@@ -28,4 +28,7 @@ public class EmployeeResponse {
 
     @Schema(description = "Name of the department the employee belongs to", example = "IT")
     private String departmentName;
+
+    @Schema(description = "Row version; sent as the ETag and expected in If-Match", example = "3")
+    private Long version;
 }
@@ -0,0 +1,66 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Employee properties clients may sort by. Each one has an index (V7/V8 migrations),
+ * and sorts always end with id so that the order is total and pages are stable.
+ */
+public enum EmployeeSortField {
+
+    ID("id", Long::valueOf),
+    FIRST_NAME("firstName", value -> value),
+    LAST_NAME("lastName", value -> value),
+    EMAIL("email", value -> value),
+    SALARY("salary", BigDecimal::new);
+
+    private static final List<String> PROPERTIES = Arrays.stream(values()).map(EmployeeSortField::getProperty).toList();
+
+    private final String property;
+    private final Function<String, Object> keyParser;
+
+    EmployeeSortField(String property, Function<String, Object> keyParser) {
+        this.property = property;
+        this.keyParser = keyParser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    // Parses a serialized sort key (e.g. from a cursor) back into the property's type
+    public Object parseKey(String value) {
+        return keyParser.apply(value);
+    }
+
+    // Sort on this field with id as the unique tiebreaker
+    public Sort sort(Sort.Direction direction) {
+        return this == ID
+                ? Sort.by(direction, ID.property)
+                : Sort.by(direction, property).and(Sort.by(direction, ID.property));
+    }
+
+    public static EmployeeSortField from(String property) {
+        for (EmployeeSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new BadRequestException("Cannot sort by '" + property + "', allowed: " + PROPERTIES);
+    }
+
+    public static Sort.Direction direction(String sortDir) {
+        return switch (sortDir.toLowerCase(Locale.ROOT)) {
+            case "asc" -> Sort.Direction.ASC;
+            case "desc" -> Sort.Direction.DESC;
+            default -> throw new BadRequestException("sortDir must be 'asc' or 'desc'");
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+
+import java.util.Locale;
+
+// Output formats supported by the employee export
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO with the progress of a background employee import.
+ */
+@Data
+@Schema(description = "Progress of an employee import job")
+public class ImportJobResponse {
+
+    @Schema(description = "Job identifier", example = "0b6f6f0e-6a43-4c5e-9f55-2f3a8c1f9d11")
+    private String jobId;
+
+    @Schema(description = "QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS or FAILED", example = "RUNNING")
+    private String status;
+
+    @Schema(description = "Name of the uploaded file", example = "employees.csv")
+    private String fileName;
+
+    @Schema(description = "Data rows read from the file so far", example = "25000")
+    private long rowsRead;
+
+    @Schema(description = "Rows written to the database", example = "24990")
+    private long rowsImported;
+
+    @Schema(description = "Rows rejected by validation or constraints", example = "10")
+    private long rowsFailed;
+
+    @Schema(description = "Chunks committed", example = "25")
+    private long chunksWritten;
+
+    @Schema(description = "Chunks that failed after retries and can be retried", example = "0")
+    private long chunksFailed;
+
+    @Schema(description = "Rows processed per second since the job started", example = "4200.5")
+    private double rowsPerSecond;
+
+    @Schema(description = "Why the job failed, if it did")
+    private String message;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    @Schema(description = "First row-level errors (capped)")
+    private List<ImportRowError> errors;
+}
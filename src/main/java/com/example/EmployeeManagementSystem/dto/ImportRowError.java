@@ -0,0 +1,20 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO describing why one row of an import file was rejected.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "A rejected row of an import file")
+public class ImportRowError {
+
+    @Schema(description = "Line number in the uploaded file where the row starts", example = "42")
+    private long line;
+
+    @Schema(description = "Why the row was rejected", example = "salary: must be greater than 0")
+    private String error;
+}
@@ -0,0 +1,31 @@
+package com.example.EmployeeManagementSystem.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * DTO for a page that only knows whether a next page exists (no exact total).
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Page of results without an exact total count")
+public class SliceResponse<T> {
+
+    @Schema(description = "Items of this page")
+    private List<T> content;
+
+    @Schema(description = "Zero-based page index", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "10")
+    private int size;
+
+    @Schema(description = "Whether a next page exists")
+    private boolean hasNext;
+
+    @Schema(description = "Cached, periodically refreshed total; null unless requested and available", example = "2000000")
+    private Long approximateTotal;
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "users")
+@EntityListeners(AppUserEntityListener.class)
 @Schema(description = "Entity representing an application user")
 public class AppUser {
 
@@ -0,0 +1,30 @@
+package com.example.EmployeeManagementSystem.entity;
+
+import com.example.EmployeeManagementSystem.event.AppUserChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA callback that turns AppUser writes into application events, so security
+ * components can drop state derived from the old row. Instantiated by Hibernate
+ * through the Spring bean container.
+ */
+public class AppUserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AppUserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    public void afterUpdate(AppUser user) {
+        eventPublisher.publishEvent(new AppUserChangedEvent(user.getId(), user.getUsername(), false));
+    }
+
+    @PostRemove
+    public void afterRemove(AppUser user) {
+        eventPublisher.publishEvent(new AppUserChangedEvent(user.getId(), user.getUsername(), true));
+    }
+}
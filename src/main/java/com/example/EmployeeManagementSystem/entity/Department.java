@@ -25,6 +25,11 @@ public class Department {
     @Schema(description = "Location of the department", example = "New York")
     private String location;
 
+    // Optimistic locking; also bumped when the department's employees change, since they are embedded in its response
+    @Version
+    @Schema(description = "Row version, incremented on every update", example = "3")
+    private Long version;
+
     @OneToMany(mappedBy = "department")
     @JsonBackReference
     @Schema(description = "employees belongs to the department")
@@ -5,17 +5,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
+// UPDATEs list only the columns that changed, so single-field writes touch only the affected indexes
 @Data
 @Entity
+@DynamicUpdate
 @Table(name = "employees")
 @Schema(description = "Represents an employee in the company")
 public class Employee {
 
+    // Pooled, table-backed sequence (V4 migration): ids come in blocks of 50, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     @Schema(description = "Unique identifier of the employee", example = "101")
     private Long id;
 
@@ -44,6 +49,16 @@ public class Employee {
     @Schema(description = "Salary of the employee", example = "75000.50")
     private BigDecimal salary;
 
+    // Generated by MySQL from the e-mail (V7 migration); read-only, used by the email-domain filter
+    @Column(name = "email_domain", insertable = false, updatable = false)
+    @Schema(hidden = true)
+    private String emailDomain;
+
+    // Optimistic locking; also the source of the employee ETag
+    @Version
+    @Schema(description = "Row version, incremented on every update", example = "3")
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "department_id")
     @JsonManagedReference
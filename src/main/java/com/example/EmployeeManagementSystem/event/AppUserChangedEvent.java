@@ -0,0 +1,7 @@
+package com.example.EmployeeManagementSystem.event;
+
+/**
+ * Published whenever an AppUser row is updated or deleted through the application.
+ */
+public record AppUserChangedEvent(Long userId, String username, boolean deleted) {
+}
@@ -0,0 +1,12 @@
+package com.example.EmployeeManagementSystem.event;
+
+/**
+ * Published by the department write paths. For deletes, {@code unlinkedEmployees}
+ * is the number of employees whose department reference was cleared.
+ */
+public record DepartmentChangedEvent(Long departmentId, Type type, long unlinkedEmployees) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+}
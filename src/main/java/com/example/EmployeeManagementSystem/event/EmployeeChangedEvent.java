@@ -0,0 +1,20 @@
+package com.example.EmployeeManagementSystem.event;
+
+/**
+ * Published by the employee write paths. {@code before} is null for creates and
+ * {@code after} is null for deletes.
+ */
+public record EmployeeChangedEvent(EmployeeSnapshot before, EmployeeSnapshot after) {
+
+    public static EmployeeChangedEvent created(EmployeeSnapshot after) {
+        return new EmployeeChangedEvent(null, after);
+    }
+
+    public static EmployeeChangedEvent updated(EmployeeSnapshot before, EmployeeSnapshot after) {
+        return new EmployeeChangedEvent(before, after);
+    }
+
+    public static EmployeeChangedEvent deleted(EmployeeSnapshot before) {
+        return new EmployeeChangedEvent(before, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.EmployeeManagementSystem.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable copy of the employee fields that derived, in-memory views depend on.
+ */
+public record EmployeeSnapshot(Long id,
+                               Long departmentId,
+                               BigDecimal salary,
+                               String firstName,
+                               String lastName,
+                               String email) {
+}
@@ -2,6 +2,9 @@ package com.example.EmployeeManagementSystem.exceptions;
 
 import com.example.EmployeeManagementSystem.dto.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,6 +36,37 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // Overload / admission control: tell the client when to come back
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex,
+                                                                  HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI()));
+    }
+
+    // Optimistic lock: someone else updated the row between our read and write
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex,
+                                                              HttpServletRequest request) {
+        return new ResponseEntity<>(
+                buildErrorResponse(HttpStatus.CONFLICT, "The resource was modified concurrently, reload and retry",
+                        request.getRequestURI()),
+                HttpStatus.CONFLICT
+        );
+    }
+
+    // Lock wait timeout or deadlock victim (e.g. a department rename racing moves into it); safe to retry
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handlePessimisticLock(PessimisticLockingFailureException ex,
+                                                               HttpServletRequest request) {
+        return new ResponseEntity<>(
+                buildErrorResponse(HttpStatus.CONFLICT, "The resource is being modified concurrently, retry",
+                        request.getRequestURI()),
+                HttpStatus.CONFLICT
+        );
+    }
+
     // Validation errors
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex,
@@ -0,0 +1,8 @@
+package com.example.EmployeeManagementSystem.exceptions;
+
+public class PreconditionFailedException extends ApiException {
+
+    public PreconditionFailedException(String message) {
+        super(message, 412);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.EmployeeManagementSystem.exceptions;
+
+public class UnauthorizedException extends ApiException {
+
+    public UnauthorizedException(String message) {
+        super(message, 401);
+    }
+}
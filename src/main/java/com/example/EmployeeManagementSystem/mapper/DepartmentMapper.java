@@ -4,9 +4,10 @@ import com.example.EmployeeManagementSystem.dto.DepartmentRequest;
 import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
 import com.example.EmployeeManagementSystem.entity.Department;
-import com.example.EmployeeManagementSystem.entity.Employee;
 
+import java.nio.charset.StandardCharsets;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 public class DepartmentMapper {
 
@@ -20,34 +21,82 @@ public class DepartmentMapper {
 
     // Entity -> Response
     public static DepartmentResponse toResponse(Department department) {
+        DepartmentResponse dto = toSummary(department);
+
+        if (department.getEmployees() != null) {
+            dto.setEmployees(
+                    department.getEmployees().stream()
+                            .map(EmployeeMapper::toResponse)
+                            .collect(Collectors.toList())
+            );
+        }
+
+        return dto;
+    }
+
+    // Entity -> Response without touching the employees collection
+    public static DepartmentResponse toSummary(Department department) {
         DepartmentResponse dto = new DepartmentResponse();
         dto.setId(department.getId());
         dto.setName(department.getName());
         dto.setLocation(department.getLocation());
+        dto.setVersion(department.getVersion());
+        return dto;
+    }
 
-        if (department.getEmployees() != null) {
+    // Detached copy of a (possibly cached, shared) response, including its employees
+    public static DepartmentResponse copy(DepartmentResponse source) {
+        if (source == null) {
+            return null;
+        }
+        DepartmentResponse dto = new DepartmentResponse();
+        dto.setId(source.getId());
+        dto.setName(source.getName());
+        dto.setLocation(source.getLocation());
+        dto.setVersion(source.getVersion());
+        dto.setEmployeeCount(source.getEmployeeCount());
+        if (source.getEmployees() != null) {
             dto.setEmployees(
-                    department.getEmployees().stream()
-                            .map(DepartmentMapper::mapEmployeeToResponse)
+                    source.getEmployees().stream()
+                            .map(EmployeeMapper::copy)
                             .collect(Collectors.toList())
             );
         }
-
         return dto;
     }
 
-    // Helper: Employee -> EmployeeResponse
-    private static EmployeeResponse mapEmployeeToResponse(Employee emp) {
-        EmployeeResponse empDto = new EmployeeResponse();
-        empDto.setId(emp.getId());
-        empDto.setFirstName(emp.getFirstName());
-        empDto.setLastName(emp.getLastName());
-        empDto.setEmail(emp.getEmail());
-        empDto.setPhone(emp.getPhone());
-        empDto.setSalary(emp.getSalary());
-        empDto.setDepartmentName(emp.getDepartment() != null ? emp.getDepartment().getName() : null);
+    /**
+     * ETag value of a department response: the department's row version plus a fingerprint of
+     * its employees (count, sum of versions, xor of crc32("id:version")). Employee writes change
+     * the fingerprint without writing the department row. Must match
+     * EmployeeRepository.findVersionFingerprintByDepartmentId.
+     */
+    public static String contentVersion(DepartmentResponse response) {
+        long count = 0;
+        long versionSum = 0;
+        long checksum = 0;
+        if (response.getEmployees() != null) {
+            for (EmployeeResponse employee : response.getEmployees()) {
+                long version = employee.getVersion() != null ? employee.getVersion() : 0;
+                count++;
+                versionSum += version;
+                checksum ^= employeeChecksum(employee.getId(), version);
+            }
+        }
+        return contentVersion(response.getVersion(), count, versionSum, checksum);
+    }
+
+    public static String contentVersion(Long departmentVersion, long employeeCount, long employeeVersionSum,
+                                        long employeeChecksum) {
+        return (departmentVersion != null ? departmentVersion : 0) + "-" + employeeCount + "-"
+                + employeeVersionSum + "-" + Long.toHexString(employeeChecksum);
+    }
 
-        return empDto;
+    // Same value as MySQL's CRC32(CONCAT(id, ':', version))
+    static long employeeChecksum(Long employeeId, long version) {
+        CRC32 crc = new CRC32();
+        crc.update((employeeId + ":" + version).getBytes(StandardCharsets.US_ASCII));
+        return crc.getValue();
     }
 
     // Existing utility
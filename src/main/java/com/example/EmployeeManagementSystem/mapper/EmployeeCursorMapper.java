@@ -0,0 +1,75 @@
+package com.example.EmployeeManagementSystem.mapper;
+
+import com.example.EmployeeManagementSystem.dto.EmployeeSortField;
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts between keyset scroll positions and the opaque continuation tokens handed to clients.
+ * A token carries the sort it was produced with plus the last seen sort key and id.
+ */
+public class EmployeeCursorMapper {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public record EmployeeCursor(Sort sort, ScrollPosition position) {
+    }
+
+    // Sort on an allow-listed (non-null, indexed) property with id as the unique tiebreaker
+    public static Sort seekSort(String sortBy, Sort.Direction direction) {
+        return EmployeeSortField.from(sortBy).sort(direction);
+    }
+
+    // Token -> Sort + position
+    public static EmployeeCursor decode(String token) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token);
+            CursorPayload payload = MAPPER.readValue(json, CursorPayload.class);
+
+            Sort.Direction direction = Sort.Direction.fromString(payload.dir());
+            Sort sort = seekSort(payload.sort(), direction);
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                String value = payload.keys().get(order.getProperty());
+                if (value == null) {
+                    throw new IllegalArgumentException("missing key " + order.getProperty());
+                }
+                keys.put(order.getProperty(), EmployeeSortField.from(order.getProperty()).parseKey(value));
+            }
+            return new EmployeeCursor(sort, ScrollPosition.forward(keys));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // Sort + position of the last returned row -> token
+    public static String encode(Sort sort, ScrollPosition position) {
+        Sort.Order primary = sort.iterator().next();
+        Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys().forEach((property, value) ->
+                keys.put(property, value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value)));
+
+        try {
+            byte[] json = MAPPER.writeValueAsBytes(
+                    new CursorPayload(primary.getProperty(), primary.getDirection().name(), keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode cursor", e);
+        }
+    }
+
+    private record CursorPayload(String sort, String dir, Map<String, String> keys) {
+    }
+}
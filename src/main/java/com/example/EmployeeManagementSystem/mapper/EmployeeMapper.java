@@ -1,12 +1,16 @@
 package com.example.EmployeeManagementSystem.mapper;
 
+import com.example.EmployeeManagementSystem.dto.EmployeePatchRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
 import com.example.EmployeeManagementSystem.entity.Department;
 import com.example.EmployeeManagementSystem.entity.Employee;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
 
 public class EmployeeMapper {
 
+    public static final String CSV_HEADER = "id,firstName,lastName,email,phone,salary,departmentName";
+
     public static EmployeeResponse toResponse(Employee emp) {
         if (emp == null) {
             return null;
@@ -19,9 +23,78 @@ public class EmployeeMapper {
         response.setPhone(emp.getPhone());
         response.setSalary(emp.getSalary());
         response.setDepartmentName(emp.getDepartment() != null ? emp.getDepartment().getName() : null);
+        response.setVersion(emp.getVersion());
+        return response;
+    }
+
+    // Same as toResponse, but with a known department name so a lazy department reference is not loaded
+    public static EmployeeResponse toResponse(Employee emp, String departmentName) {
+        if (emp == null) {
+            return null;
+        }
+        EmployeeResponse response = new EmployeeResponse();
+        response.setId(emp.getId());
+        response.setFirstName(emp.getFirstName());
+        response.setLastName(emp.getLastName());
+        response.setEmail(emp.getEmail());
+        response.setPhone(emp.getPhone());
+        response.setSalary(emp.getSalary());
+        response.setDepartmentName(departmentName);
+        response.setVersion(emp.getVersion());
         return response;
     }
 
+    // Detached copy of a (possibly cached, shared) response
+    public static EmployeeResponse copy(EmployeeResponse source) {
+        if (source == null) {
+            return null;
+        }
+        EmployeeResponse response = new EmployeeResponse();
+        response.setId(source.getId());
+        response.setFirstName(source.getFirstName());
+        response.setLastName(source.getLastName());
+        response.setEmail(source.getEmail());
+        response.setPhone(source.getPhone());
+        response.setSalary(source.getSalary());
+        response.setDepartmentName(source.getDepartmentName());
+        response.setVersion(source.getVersion());
+        return response;
+    }
+
+    // Response DTO -> one CSV record (RFC 4180 quoting, no line terminator), columns as in CSV_HEADER
+    public static String toCsvRow(EmployeeResponse response) {
+        return String.join(",",
+                csv(response.getId()),
+                csv(response.getFirstName()),
+                csv(response.getLastName()),
+                csv(response.getEmail()),
+                csv(response.getPhone()),
+                csv(response.getSalary() != null ? response.getSalary().toPlainString() : null),
+                csv(response.getDepartmentName()));
+    }
+
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    // Entity -> immutable snapshot carried by EmployeeChangedEvent
+    public static EmployeeSnapshot toSnapshot(Employee emp) {
+        return new EmployeeSnapshot(
+                emp.getId(),
+                emp.getDepartment() != null ? emp.getDepartment().getId() : null,
+                emp.getSalary(),
+                emp.getFirstName(),
+                emp.getLastName(),
+                emp.getEmail());
+    }
+
     // Convert Request DTO → Entity
     public static Employee toEntity(EmployeeRequest request, Department department) {
         if (request == null) {
@@ -37,6 +110,25 @@ public class EmployeeMapper {
         return emp;
     }
 
+    // Apply only the fields present in the patch; the department is handled by the caller
+    public static void applyPatch(Employee emp, EmployeePatchRequest patch) {
+        if (patch.getFirstName() != null) {
+            emp.setFirstName(patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            emp.setLastName(patch.getLastName());
+        }
+        if (patch.getEmail() != null) {
+            emp.setEmail(patch.getEmail());
+        }
+        if (patch.getPhone() != null) {
+            emp.setPhone(patch.getPhone());
+        }
+        if (patch.getSalary() != null) {
+            emp.setSalary(patch.getSalary());
+        }
+    }
+
     // Update Entity from Request DTO
     public static void updateEntity(Employee emp, EmployeeRequest request, Department department) {
         emp.setFirstName(request.getFirstName());
@@ -2,7 +2,34 @@ package com.example.EmployeeManagementSystem.repository;
 
 
 import com.example.EmployeeManagementSystem.entity.Department;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = "employees")
+    Optional<Department> findWithEmployeesById(Long id);
+
+    List<Department> findByNameIn(Collection<String> names);
+
+    @Query("select d.version from Department d where d.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // [name, id] of every department, for the name -> id directory
+    @Query("select d.name, d.id from Department d")
+    List<Object[]> findAllNamesAndIds();
+
+    @Query("select d.id from Department d")
+    List<Long> findAllIds();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Department d where d.id = :id")
+    int deleteDepartmentById(@Param("id") Long id);
+}
@@ -1,15 +1,115 @@
 package com.example.EmployeeManagementSystem.repository;
 
 import com.example.EmployeeManagementSystem.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, JpaSpecificationExecutor<Employee> {
 
-    Page<Employee> findByDepartment_Name(String departmentName, Pageable pageable);
+    // Department filters go straight to employees.department_id (no join); names are resolved by DepartmentDirectory
+    Page<Employee> findByDepartmentId(Long departmentId, Pageable pageable);
+
+    // Slice variants: fetch size + 1 rows to detect a next page, never run COUNT(*)
+    Slice<Employee> findSliceBy(Pageable pageable);
+
+    Slice<Employee> findSliceByDepartmentId(Long departmentId, Pageable pageable);
+
+    long countByDepartmentId(Long departmentId);
+
+    // Keyset (seek) variants: WHERE (sort key, id) > last seen, no OFFSET and no COUNT
+    Window<Employee> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Employee> findByDepartmentId(Long departmentId, ScrollPosition position, Sort sort, Limit limit);
 
     List<Employee> findByDepartmentId(Long departmentId);
+
+    // Forward-only streams for exports. Integer.MIN_VALUE makes MySQL Connector/J stream rows one by one
+    // instead of buffering the whole result; the department is join-fetched so no extra queries run mid-stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e left join fetch e.department order by e.id")
+    Stream<Employee> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Employee e join fetch e.department d where d.id = :departmentId order by e.id")
+    Stream<Employee> streamByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Set-based unlink in bounded chunks (MySQL UPDATE ... LIMIT); returns the rows changed.
+    // Bumps the row version because the employee's representation (department name) changes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE employees SET department_id = NULL, version = version + 1 "
+            + "WHERE department_id = :departmentId LIMIT :limit",
+            nativeQuery = true)
+    int unlinkDepartmentBatch(@Param("departmentId") Long departmentId, @Param("limit") int limit);
+
+    // [id, firstName, lastName, email] in id order, for rebuilding the search index in batches
+    @Query("select e.id, e.firstName, e.lastName, e.email from Employee e where e.id > :afterId order by e.id")
+    List<Object[]> findSearchFieldsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Cheap ETag check: the version alone, without loading the employee
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // [count, sum(version), xor of crc32("id:version")] over a department's employees, from the
+    // (department_id, version) index; see DepartmentMapper.contentVersion for the Java side
+    @Query(value = "SELECT COUNT(*), COALESCE(SUM(version), 0), COALESCE(BIT_XOR(CRC32(CONCAT(id, ':', version))), 0) "
+            + "FROM employees WHERE department_id = :departmentId",
+            nativeQuery = true)
+    List<Object[]> findVersionFingerprintByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // A department rename changes every member's representation
+    @Modifying(flushAutomatically = true)
+    @Query("update Employee e set e.version = e.version + 1 where e.department.id = :departmentId")
+    int bumpVersionsByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select e.email from Employee e where e.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // At most :limit employees (lowest ids first) for each of the given departments, in one query
+    @Query(value = """
+            SELECT ranked.* FROM (
+                SELECT e.*, ROW_NUMBER() OVER (PARTITION BY e.department_id ORDER BY e.id) AS rn
+                FROM employees e
+                WHERE e.department_id IN (:departmentIds)
+            ) ranked
+            WHERE ranked.rn <= :limit
+            ORDER BY ranked.department_id, ranked.id
+            """, nativeQuery = true)
+    List<Employee> findFirstByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds,
+                                            @Param("limit") int limit);
+
+    // [departmentId, count, sum, min, max] for every department that has employees
+    @Query("select e.department.id, count(e), sum(e.salary), min(e.salary), max(e.salary) " +
+            "from Employee e where e.department is not null group by e.department.id")
+    List<Object[]> aggregateSalariesByDepartment();
+
+    // Single row [min, max]
+    @Query("select min(e.salary), max(e.salary) from Employee e where e.department.id = :departmentId")
+    List<Object[]> findSalaryRangeByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select e.department.id, count(e) from Employee e where e.department.id in :departmentIds group by e.department.id")
+    List<Object[]> countByDepartmentIds(@Param("departmentIds") Collection<Long> departmentIds);
 }
@@ -0,0 +1,54 @@
+package com.example.EmployeeManagementSystem.repository;
+
+import com.example.EmployeeManagementSystem.entity.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable filters for {@link EmployeeRepository}. Each predicate is written so
+ * that it can use an index from the V7 migration: range on salary, IN on
+ * department_id, left-anchored LIKE on last_name, equality on email_domain.
+ */
+public final class EmployeeSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EmployeeSpecifications() {
+    }
+
+    // Inclusive bounds; either side may be null
+    public static Specification<Employee> salaryBetween(BigDecimal min, BigDecimal max) {
+        return (root, query, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("salary"), min, max);
+            }
+            return min != null
+                    ? cb.greaterThanOrEqualTo(root.get("salary"), min)
+                    : cb.lessThanOrEqualTo(root.get("salary"), max);
+        };
+    }
+
+    // Compares the foreign key column; no join to departments
+    public static Specification<Employee> departmentIdIn(Collection<Long> departmentIds) {
+        return (root, query, cb) -> root.get("department").get("id").in(departmentIds);
+    }
+
+    // LIKE 'prefix%' stays index-friendly; wildcards in the input are matched literally
+    public static Specification<Employee> lastNameStartsWith(String prefix) {
+        String pattern = escapeLike(prefix) + "%";
+        return (root, query, cb) -> cb.like(root.get("lastName"), pattern, LIKE_ESCAPE);
+    }
+
+    // Equality on the generated, indexed email_domain column
+    public static Specification<Employee> emailDomain(String domain) {
+        String normalized = domain.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(root.get("emailDomain"), normalized);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,28 +1,69 @@
 package com.example.EmployeeManagementSystem.security;
 
+import com.example.EmployeeManagementSystem.config.RequestTimings;
 import com.example.EmployeeManagementSystem.service.Impl.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final TokenIssuedAfterRegistry issuedAfterRegistry;
+    private final TokenRevocationList revocationList;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+    private final Counter anonymousCounter;
+
+    // Result of handling a bearer token; used as the "outcome" tag
+    private enum Outcome {
+        AUTHENTICATED, INVALID, INACTIVE, UNKNOWN_USER, ERROR
+    }
+
+    public JwtAuthFilter(JwtUtil jwtUtil,
+                         CustomUserDetailsService userDetailsService,
+                         TokenIssuedAfterRegistry issuedAfterRegistry,
+                         TokenRevocationList revocationList,
+                         MeterRegistry meterRegistry,
+                         @Value("${security.jwt.stateless-principal:false}") boolean statelessPrincipal) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.issuedAfterRegistry = issuedAfterRegistry;
+        this.revocationList = revocationList;
+        this.statelessPrincipal = statelessPrincipal;
+
+        for (Outcome outcome : Outcome.values()) {
+            timers.put(outcome, Timer.builder("security.jwt.authentication")
+                    .description("Time spent verifying a bearer token and resolving its principal")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        this.anonymousCounter = Counter.builder("security.jwt.anonymous")
+                .description("Requests that carried no bearer token")
+                .register(meterRegistry);
     }
 
     @Override
@@ -33,19 +74,63 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String authHeader = request.getHeader("Authorization");
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
+            long start = System.nanoTime();
+            Outcome outcome = Outcome.ERROR;
+            try {
+                outcome = authenticate(authHeader.substring(7), request);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                timers.get(outcome).record(elapsed, TimeUnit.NANOSECONDS);
+                RequestTimings.record(RequestTimings.Phase.AUTH, elapsed);
+            }
+        } else {
+            anonymousCounter.increment();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Outcome authenticate(String token, HttpServletRequest request) {
+        // Verify once; subsequent requests with the same token hit the claims cache
+        Claims claims = jwtUtil.parseClaims(token);
+        if (claims == null) {
+            return Outcome.INVALID;
+        }
+        if (!isActive(claims)) {
+            return Outcome.INACTIVE;
+        }
+        UserDetails userDetails = resolveUser(claims);
+        if (userDetails == null) {
+            return Outcome.UNKNOWN_USER;
+        }
 
-            if (jwtUtil.validateToken(token)) {
-                String username = jwtUtil.extractUsername(token);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+        return Outcome.AUTHENTICATED;
+    }
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+    // Both checks are in-memory: revoked jti (Bloom filter first) and the per-user issued-after watermark
+    private boolean isActive(Claims claims) {
+        return !revocationList.isRevoked(claims.getId())
+                && issuedAfterRegistry.isCurrent(claims.getSubject(), claims.getIssuedAt());
+    }
+
+    private UserDetails resolveUser(Claims claims) {
+        String username = claims.getSubject();
+        if (!statelessPrincipal) {
+            return userDetailsService.loadUserByUsername(username);
         }
-        filterChain.doFilter(request, response);
+
+        // Stateless mode: the signed "role" claim already carries the authority
+        String role = claims.get("role", String.class);
+        if (username == null || role == null) {
+            return null;
+        }
+        return User.withUsername(username)
+                .password("")
+                .authorities(role)
+                .build();
     }
 }
@@ -1,22 +1,42 @@
 package com.example.EmployeeManagementSystem.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
     private static final String SECRET = "mysecretkeymysecretkeymysecretkeymysecretkey"; // must be 32+ chars
-    private static final long EXPIRATION = 1000 * 60 * 60; // 1 hour
+    static final long EXPIRATION = 1000 * 60 * 60; // 1 hour
 
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // Parsers are immutable and thread-safe, so a single instance serves every request
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
+    // Verified claims keyed by a SHA-256 of the compact token; each entry expires with its token
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtUtil(@Value("${security.jwt.claims-cache.max-size:10000}") long claimsCacheMaxSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     public String generateToken(String username, String role) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
                 .claim("role", role)
                 .setIssuedAt(new Date())
@@ -25,22 +45,60 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verifies the token once and returns its claims, or {@code null} if the token is
+     * malformed, tampered with or expired. Repeated calls for the same token are served
+     * from the verified-claims cache without re-checking the signature.
+     */
+    public Claims parseClaims(String token) {
+        String cacheKey = TokenHashing.sha256(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(cacheKey, claims);
+            }
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String extractUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public String extractRole(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().get("role", String.class);
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.get("role", String.class) : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+        return parseClaims(token) != null;
+    }
+
+    // Keeps a cached entry exactly as long as the token itself is valid
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
@@ -0,0 +1,91 @@
+package com.example.EmployeeManagementSystem.security;
+
+import com.example.EmployeeManagementSystem.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs password verification (BCrypt) on a dedicated, bounded pool so that login
+ * bursts cannot occupy the servlet threads serving the /api/** endpoints.
+ * When the queue is full, callers get a fast 503 instead of waiting.
+ */
+@Component
+public class LoginExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginExecutor.class);
+
+    private final AuthenticationManager authManager;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private final Timer verificationTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public LoginExecutor(AuthenticationManager authManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${security.login.threads:0}") int threads,
+                         @Value("${security.login.queue-capacity:64}") int queueCapacity,
+                         @Value("${security.login.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.authManager = authManager;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // BCrypt is CPU bound, so default to one worker per core (platform threads even in virtual-thread mode)
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued (queue depth), executor.active, executor.completed, ...
+        new ExecutorServiceMetrics(executor, "login", Tags.empty()).bindTo(meterRegistry);
+        this.verificationTimer = Timer.builder("auth.login.verification")
+                .description("Time spent verifying credentials")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.login.queue.wait")
+                .description("Time a login waited for a verification worker")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins rejected because the verification queue was full")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Authentication> authenticate(Authentication request) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return verificationTimer.record(() -> authManager.authenticate(request));
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Login rejected, verification queue full (queued={})", executor.getQueue().size());
+            throw new ServiceUnavailableException("Too many concurrent logins, please retry", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
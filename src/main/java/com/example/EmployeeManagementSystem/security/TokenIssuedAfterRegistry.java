@@ -0,0 +1,56 @@
+package com.example.EmployeeManagementSystem.security;
+
+import com.example.EmployeeManagementSystem.event.AppUserChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory "issued-after" watermark per user. Tokens issued before a user's
+ * watermark are rejected, so a role change or account removal revokes older
+ * tokens without a database lookup on each request.
+ * <p>
+ * The watermark is per instance and is lost on restart; since access tokens
+ * live for {@link JwtUtil#EXPIRATION} only, entries older than that are dropped.
+ */
+@Component
+public class TokenIssuedAfterRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenIssuedAfterRegistry.class);
+
+    // username -> epoch millis before which tokens are no longer accepted
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(String username, Date issuedAt) {
+        Long watermark = notBefore.get(username);
+        if (watermark == null) {
+            return true;
+        }
+
+        if (watermark < System.currentTimeMillis() - JwtUtil.EXPIRATION) {
+            // every token issued before the watermark has expired by now
+            notBefore.remove(username, watermark);
+            return true;
+        }
+
+        // "iat" is truncated to whole seconds, so a token may have been issued up to a second
+        // after it says. Only an "iat" at or past the watermark proves the token is newer; tokens
+        // issued in the same second after the watermark are rejected too (the client logs in again)
+        return issuedAt != null && issuedAt.getTime() >= watermark;
+    }
+
+    public void revokeIssuedBefore(String username, long epochMillis) {
+        notBefore.merge(username, epochMillis, Math::max);
+        log.info("Revoked tokens of user={} issued before {}", username, epochMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(AppUserChangedEvent event) {
+        revokeIssuedBefore(event.username(), System.currentTimeMillis());
+    }
+}
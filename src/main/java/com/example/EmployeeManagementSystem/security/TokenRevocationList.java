@@ -0,0 +1,148 @@
+package com.example.EmployeeManagementSystem.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory list of revoked access tokens, keyed by their "jti" claim.
+ * <p>
+ * A Bloom filter sits in front of the exact set: the common "not revoked" answer
+ * costs a few bit probes, and only possible hits consult the map. Entries are
+ * dropped once the token would have expired anyway, and the filter is rebuilt
+ * from the remaining entries because Bloom filters cannot delete.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Serializes writers with filter rebuilds; readers never lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(@Value("${security.jwt.revocation.expected-insertions:100000}") int expectedInsertions,
+                               @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            revoked.put(jti, expiresAt.getTime());
+            filter.put(jti);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Revoked token jti={} until {}", jti, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:PT5M}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            if (revoked.size() == before && before < expectedInsertions) {
+                return;
+            }
+
+            // Bloom filters cannot delete, so rebuild from what is left
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedInsertions, revoked.size() * 2), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            log.debug("Purged {} expired revocations, {} remain", before - revoked.size(), revoked.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Fixed-size Bloom filter over a lock-free bit array, using double hashing
+    static final class BloomFilter {
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = Math.max(64, m);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+            this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+        }
+
+        void put(String value) {
+            long h1 = fnv1a64(value);
+            long h2 = mix64(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(index);
+                } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = fnv1a64(value);
+            long h2 = mix64(h1);
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long fnv1a64(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        // SplitMix64 finalizer, used as the second, independent hash
+        private static long mix64(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return (z ^ (z >>> 31)) | 1L;
+        }
+    }
+}
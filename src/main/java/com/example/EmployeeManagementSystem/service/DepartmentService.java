@@ -1,24 +1,27 @@
 package com.example.EmployeeManagementSystem.service;
 
+import com.example.EmployeeManagementSystem.dto.DepartmentDeleteResponse;
 import com.example.EmployeeManagementSystem.dto.DepartmentRequest;
 import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
-import com.example.EmployeeManagementSystem.entity.Department;
-
-import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 public interface DepartmentService {
 
     // Create a new department and return its DTO
     DepartmentResponse create(DepartmentRequest request);
 
-    // Get a list of all departments as DTOs
-    List<DepartmentResponse> getAll();
+    // Get a page of departments, optionally embedding up to maxEmployees employees each
+    Page<DepartmentResponse> getAll(Pageable pageable, boolean includeEmployees, int maxEmployees);
 
     // Get a single department by ID as DTO
     DepartmentResponse getById(Long id);
 
-    // Optionally, if you want to add update and delete
-    DepartmentResponse update(Long id, DepartmentRequest request);
+    // Current ETag value (row version + employee fingerprint) without loading the department
+    String getContentVersion(Long id);
+
+    // expectedVersion comes from If-Match; null skips the check
+    DepartmentResponse update(Long id, DepartmentRequest request, Long expectedVersion);
 
-    void delete(Long id);  // Delete department
+    DepartmentDeleteResponse delete(Long id);  // Delete department, unlinking its employees
 }
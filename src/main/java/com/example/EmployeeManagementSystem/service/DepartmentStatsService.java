@@ -0,0 +1,14 @@
+package com.example.EmployeeManagementSystem.service;
+
+import com.example.EmployeeManagementSystem.dto.DepartmentStatsResponse;
+
+import java.util.List;
+
+public interface DepartmentStatsService {
+
+    // Aggregates of a single department
+    DepartmentStatsResponse getStats(Long departmentId);
+
+    // Aggregates of every department, ordered by department ID
+    List<DepartmentStatsResponse> getAllStats();
+}
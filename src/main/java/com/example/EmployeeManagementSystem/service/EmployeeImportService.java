@@ -0,0 +1,17 @@
+package com.example.EmployeeManagementSystem.service;
+
+import com.example.EmployeeManagementSystem.dto.ImportJobResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+public interface EmployeeImportService {
+
+    // Stores the upload and queues it; the returned job is polled through getJob
+    ImportJobResponse submit(MultipartFile file) throws IOException;
+
+    ImportJobResponse getJob(String jobId);
+
+    // Re-runs only the chunks that failed after their retries
+    ImportJobResponse retryFailedChunks(String jobId);
+}
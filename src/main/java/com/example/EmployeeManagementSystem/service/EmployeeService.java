@@ -1,19 +1,53 @@
 package com.example.EmployeeManagementSystem.service;
 
+import com.example.EmployeeManagementSystem.dto.BatchCreateResponse;
+import com.example.EmployeeManagementSystem.dto.EmployeeFilter;
+import com.example.EmployeeManagementSystem.dto.EmployeePatchRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
+import com.example.EmployeeManagementSystem.dto.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 public interface EmployeeService {
 
     EmployeeResponse create(EmployeeRequest request);
 
-    Page<EmployeeResponse> getAll(String departmentName, Pageable pageable);
+    BatchCreateResponse createBatch(List<EmployeeRequest> requests);
+
+    Page<EmployeeResponse> getAll(EmployeeFilter filter, Pageable pageable);
+
+    Slice<EmployeeResponse> getSlice(String departmentName, Pageable pageable);
+
+    // Cached approximate total for the given filter, or null if not yet known
+    Long estimateTotal(String departmentName);
+
+    // Prefix/substring search over names and e-mail, best matches first
+    Page<EmployeeResponse> search(String query, Pageable pageable);
+
+    Window<EmployeeResponse> scroll(String departmentName, ScrollPosition position, Sort sort, int size);
+
+    // Streams every matching employee to the output; memory use does not depend on the row count
+    void export(String departmentName, ExportFormat format, OutputStream out) throws IOException;
+
+    // Current row version (the ETag) without loading the employee
+    Long getVersion(Long id);
 
     EmployeeResponse getById(Long id);
 
-    EmployeeResponse updateEmployee(Long id, EmployeeRequest request);
+    // expectedVersion comes from If-Match; null skips the check
+    EmployeeResponse updateEmployee(Long id, EmployeeRequest request, Long expectedVersion);
+
+    // Changes only the fields present in the patch
+    EmployeeResponse patchEmployee(Long id, EmployeePatchRequest patch, Long expectedVersion);
 
     void delete(Long id);
 }
@@ -1,30 +1,91 @@
 package com.example.EmployeeManagementSystem.service.Impl;
 
 import com.example.EmployeeManagementSystem.entity.AppUser;
+import com.example.EmployeeManagementSystem.event.AppUserChangedEvent;
 import com.example.EmployeeManagementSystem.repository.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Timed(value = "api.service", histogram = true)
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     private final AppUserRepository userRepository;
 
-    public CustomUserDetailsService(AppUserRepository userRepository) {
+    // username -> user snapshot; bounded by size and TTL, invalidated on AppUser writes
+    private final Cache<String, CachedUser> userCache;
+    // Bumped before every invalidation; a load that overlapped one does not stay cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CustomUserDetailsService(AppUserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${security.user-cache.max-size:5000}") long maxSize,
+                                    @Value("${security.user-cache.ttl:PT5M}") Duration ttl) {
         this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // exposes cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=userDetails
+        CaffeineCacheMetrics.monitor(meterRegistry, userCache, "userDetails");
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Not userCache.get(key, loader): that runs the query inside ConcurrentHashMap.compute,
+        // whose synchronized bin lock would pin a virtual thread's carrier
+        CachedUser cached = userCache.getIfPresent(username);
+        if (cached == null) {
+            long seen = invalidations.get();
+            cached = loadFromDatabase(username);
+            userCache.put(username, cached);
+            if (invalidations.get() != seen) {
+                userCache.invalidate(username);
+            }
+        }
+
+        // Hand out a copy: ProviderManager erases credentials on the principal it returns
+        return User.withUserDetails(cached.userDetails()).build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(AppUserChangedEvent event) {
+        // match on id as well, so a renamed user's old entry is dropped too
+        invalidations.incrementAndGet();
+        userCache.invalidate(event.username());
+        userCache.asMap().values().removeIf(cached -> cached.userId().equals(event.userId()));
+        log.debug("Invalidated cached user details for user={}", event.username());
+    }
+
+    private CachedUser loadFromDatabase(String username) {
         AppUser appUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return User.withUsername(appUser.getUsername())
+        UserDetails userDetails = User.withUsername(appUser.getUsername())
                 .password(appUser.getPassword()) // already encoded (BCrypt)
                 .roles(appUser.getRole().replace("ROLE_", "")) // remove prefix if exists
                 .build();
+        return new CachedUser(appUser.getId(), userDetails);
+    }
+
+    private record CachedUser(Long userId, UserDetails userDetails) {
     }
 }
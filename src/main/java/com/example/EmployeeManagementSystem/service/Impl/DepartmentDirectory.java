@@ -0,0 +1,82 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.event.DepartmentChangedEvent;
+import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Complete department name -> id map held in memory, so name filters can query
+ * employees.department_id directly. Because the map holds every department, a
+ * miss means the name does not exist and needs no database round trip.
+ * <p>
+ * Reloaded after every committed department change and periodically, to pick up
+ * changes made by other instances. Names match case-insensitively, like the
+ * column's collation.
+ */
+@Component
+public class DepartmentDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentDirectory.class);
+
+    private final DepartmentRepository departmentRepository;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // null until the first load
+    private volatile Map<String, Long> idsByName;
+
+    public DepartmentDirectory(DepartmentRepository departmentRepository) {
+        this.departmentRepository = departmentRepository;
+    }
+
+    public Optional<Long> findId(String name) {
+        Map<String, Long> ids = idsByName;
+        if (ids == null) {
+            ids = load();
+        }
+        return Optional.ofNullable(ids.get(key(name)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${departments.directory.refresh-interval:PT5M}",
+            initialDelayString = "${departments.directory.refresh-interval:PT5M}")
+    public void reload() {
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        load();
+    }
+
+    // Kept off the listener methods: Spring publishes a listener's non-null return value as a new event
+    private Map<String, Long> load() {
+        reloadLock.lock();
+        try {
+            Map<String, Long> ids = new HashMap<>();
+            for (Object[] row : departmentRepository.findAllNamesAndIds()) {
+                ids.put(key((String) row[0]), (Long) row[1]);
+            }
+            idsByName = ids;
+            log.debug("Loaded {} department names", ids.size());
+            return ids;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
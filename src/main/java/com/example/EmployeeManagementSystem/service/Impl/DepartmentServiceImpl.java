@@ -1,25 +1,36 @@
 package com.example.EmployeeManagementSystem.service.Impl;
 
+import com.example.EmployeeManagementSystem.dto.DepartmentDeleteResponse;
 import com.example.EmployeeManagementSystem.dto.DepartmentRequest;
 import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
 import com.example.EmployeeManagementSystem.entity.Department;
-import com.example.EmployeeManagementSystem.entity.Employee;
+import com.example.EmployeeManagementSystem.event.DepartmentChangedEvent;
+import com.example.EmployeeManagementSystem.exceptions.PreconditionFailedException;
 import com.example.EmployeeManagementSystem.exceptions.ResourceNotFoundException;
 import com.example.EmployeeManagementSystem.mapper.DepartmentMapper;
 import com.example.EmployeeManagementSystem.mapper.EmployeeMapper;
 import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
 import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
 import com.example.EmployeeManagementSystem.service.DepartmentService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+@Timed(value = "api.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class DepartmentServiceImpl implements DepartmentService {
@@ -28,6 +39,13 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository; // ✅ add repository
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityCaches entityCaches;
+
+    // Rows unlinked per UPDATE when deleting a department
+    @Value("${departments.delete.unlink-batch-size:5000}")
+    private int unlinkBatchSize;
 
     @Override
     @Transactional
@@ -36,6 +54,7 @@ public class DepartmentServiceImpl implements DepartmentService {
 
         Department department = DepartmentMapper.toEntity(request);
         Department saved = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(saved.getId(), DepartmentChangedEvent.Type.CREATED, 0));
 
         log.info("Created department id={}", saved.getId());
         return DepartmentMapper.toResponse(saved);
@@ -43,70 +62,119 @@ public class DepartmentServiceImpl implements DepartmentService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<DepartmentResponse> getAll() {
-        List<Department> departments = departmentRepository.findAll();
+    public Page<DepartmentResponse> getAll(Pageable pageable, boolean includeEmployees, int maxEmployees) {
+        log.debug("Fetching departments. pageable={}, includeEmployees={}, maxEmployees={}",
+                pageable, includeEmployees, maxEmployees);
+
+        Page<Department> page = departmentRepository.findAll(pageable);
+        if (!includeEmployees || page.isEmpty()) {
+            return page.map(DepartmentMapper::toSummary);
+        }
 
-        return departments.stream().map(dept -> {
-            DepartmentResponse response = DepartmentMapper.toResponse(dept);
+        // Two more queries for the whole page: capped employee rows and per-department totals
+        List<Long> departmentIds = page.map(Department::getId).getContent();
 
-            List<EmployeeResponse> employees = dept.getEmployees().stream()
-                    .map(EmployeeMapper::toResponse)
-                    .collect(Collectors.toList());
+        Map<Long, List<EmployeeResponse>> employeesByDepartment = employeeRepository
+                .findFirstByDepartmentIds(departmentIds, maxEmployees).stream()
+                .collect(Collectors.groupingBy(emp -> emp.getDepartment().getId(),
+                        Collectors.mapping(EmployeeMapper::toResponse, Collectors.toList())));
 
-            response.setEmployees(employees);
+        Map<Long, Long> countsByDepartment = employeeRepository.countByDepartmentIds(departmentIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+
+        return page.map(dept -> {
+            DepartmentResponse response = DepartmentMapper.toSummary(dept);
+            response.setEmployees(employeesByDepartment.getOrDefault(dept.getId(), List.of()));
+            response.setEmployeeCount(countsByDepartment.getOrDefault(dept.getId(), 0L));
             return response;
-        }).collect(Collectors.toList());
+        });
     }
 
+    // No surrounding transaction: a cache hit must not borrow a connection.
+    // The cached response is shared, so callers get a copy they are free to modify
     @Override
-    @Transactional(readOnly = true)
     public DepartmentResponse getById(Long id) {
         log.debug("Fetching department id={}", id);
 
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + id + " not found"));
+        DepartmentResponse cached = entityCaches.departments().get(id, key -> departmentRepository.findWithEmployeesById(key)
+                .map(DepartmentMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + key + " not found")));
+        return DepartmentMapper.copy(cached);
+    }
 
-        return DepartmentMapper.toResponse(department);
+    // Answered from the cache, or from the version column plus one index-only aggregate over the employees
+    @Override
+    public String getContentVersion(Long id) {
+        DepartmentResponse cached = entityCaches.departments().getIfPresent(id);
+        if (cached != null) {
+            return DepartmentMapper.contentVersion(cached);
+        }
+        Long version = departmentRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + id + " not found"));
+        Object[] fingerprint = employeeRepository.findVersionFingerprintByDepartmentId(id).get(0);
+        return DepartmentMapper.contentVersion(version,
+                ((Number) fingerprint[0]).longValue(),
+                ((Number) fingerprint[1]).longValue(),
+                ((Number) fingerprint[2]).longValue());
     }
 
     @Override
     @Transactional
-    public DepartmentResponse update(Long id, DepartmentRequest request) {
+    public DepartmentResponse update(Long id, DepartmentRequest request, Long expectedVersion) {
         log.debug("Updating department id={} with {}", id, request);
         Department department = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + id + " not found"));
+        if (expectedVersion != null && !expectedVersion.equals(department.getVersion())) {
+            throw new PreconditionFailedException("Department with ID " + id + " has been modified (version "
+                    + department.getVersion() + ")");
+        }
+        boolean renamed = !Objects.equals(department.getName(), request.getName());
 
         // Only update mutable fields
         department.setName(request.getName());
         department.setLocation(request.getLocation());
 
-        Department updated = departmentRepository.save(department);
+        // Flush now so the response carries the incremented version
+        Department updated = departmentRepository.saveAndFlush(department);
+        if (renamed) {
+            // Employee responses carry the department name
+            employeeRepository.bumpVersionsByDepartmentId(id);
+        }
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id, DepartmentChangedEvent.Type.UPDATED, 0));
         log.info("Updated department id={}", updated.getId());
         return DepartmentMapper.toResponse(updated);
     }
 
     @Override
-    @Transactional
-    public void delete(Long id) {
+    public DepartmentDeleteResponse delete(Long id) {
         log.debug("Deleting department id={}", id);
 
-        Department department = departmentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + id + " not found"));
-
-        //  Step 1: Find employees in this department
-        List<Employee> employees = employeeRepository.findByDepartmentId(id);
-
-        //  Step 2: Set department = null
-        for (Employee emp : employees) {
-            emp.setDepartment(null);
+        if (!departmentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Department with ID " + id + " not found");
         }
 
-        //  Step 3: Save employees
-        employeeRepository.saveAll(employees);
-
-        //  Step 4: Delete department
-        departmentRepository.delete(department);
+        //  Step 1: Unlink employees with bulk UPDATEs, one short transaction per batch
+        long unlinked = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status ->
+                    employeeRepository.unlinkDepartmentBatch(id, unlinkBatchSize));
+            unlinked += batch;
+        } while (batch == unlinkBatchSize);
+
+        //  Step 2: Unlink anyone assigned meanwhile and delete the department atomically
+        int[] lastStep = transactionTemplate.execute(status -> new int[]{
+                employeeRepository.unlinkDepartmentBatch(id, Integer.MAX_VALUE),
+                departmentRepository.deleteDepartmentById(id)
+        });
+        unlinked += lastStep[0];
+
+        if (lastStep[1] == 0) {
+            throw new ResourceNotFoundException("Department with ID " + id + " not found");
+        }
 
-        log.info("Deleted department id={} and unlinked {} employees", id, employees.size());
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id, DepartmentChangedEvent.Type.DELETED, unlinked));
+        log.info("Deleted department id={} and unlinked {} employees", id, unlinked);
+        return new DepartmentDeleteResponse(id, unlinked);
     }
 }
@@ -0,0 +1,375 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.dto.DepartmentStatsResponse;
+import com.example.EmployeeManagementSystem.event.DepartmentChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import com.example.EmployeeManagementSystem.exceptions.ResourceNotFoundException;
+import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import com.example.EmployeeManagementSystem.service.DepartmentStatsService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-department headcount and salary aggregates kept in memory.
+ * <p>
+ * Seeded with one GROUP BY query at startup and then maintained incrementally
+ * from committed employee/department changes. Count and sum track every change
+ * made through this instance; min/max become stale when the current extreme leaves
+ * the department and are recomputed on the next read. A periodic reseed corrects
+ * drift from writes made outside this instance.
+ * <p>
+ * A reseed buffers the changes committed while its query runs and replays them onto
+ * the new figures. So that no change is both in the query's snapshot and replayed,
+ * transactions publishing employee changes hold a read lock from before their commit
+ * until their listeners have run, and the reseed takes the write lock while it pins
+ * its snapshot and starts the buffer.
+ */
+@Timed(value = "api.service", histogram = true)
+@Service
+public class DepartmentStatsServiceImpl implements DepartmentStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentStatsServiceImpl.class);
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+
+    // Read-only REPEATABLE READ transaction of its own, so both reseed queries see one snapshot
+    private final TransactionTemplate reseedTransaction;
+
+    // Serializes reseeds, including the lazy one triggered by the first read
+    private final ReentrantLock reseedLock = new ReentrantLock();
+    // Read: a transaction between its commit and the end of its listeners. Write: a reseed starting its buffer
+    private final ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    // Guards applying a change together with buffering it, and the swap of the aggregates
+    private final ReentrantLock changeLock = new ReentrantLock();
+
+    private volatile Map<Long, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private volatile boolean seeded;
+
+    // Changes seen while a reseed is running; replayed onto the fresh aggregates before they are swapped in
+    private List<Consumer<Map<Long, Aggregate>>> changesDuringReseed;
+
+    public DepartmentStatsServiceImpl(EmployeeRepository employeeRepository,
+                                      DepartmentRepository departmentRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.reseedTransaction = new TransactionTemplate(transactionManager);
+        this.reseedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reseedTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reseedTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public DepartmentStatsResponse getStats(Long departmentId) {
+        ensureSeeded();
+        Aggregate aggregate = aggregates.get(departmentId);
+        if (aggregate == null) {
+            throw new ResourceNotFoundException("Department with ID " + departmentId + " not found");
+        }
+        return toResponse(departmentId, aggregate);
+    }
+
+    @Override
+    public List<DepartmentStatsResponse> getAllStats() {
+        ensureSeeded();
+        return aggregates.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> toResponse(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${departments.stats.reseed-interval:PT10M}",
+            initialDelayString = "${departments.stats.reseed-interval:PT10M}")
+    public void reseed() {
+        reseedLock.lock();
+        try {
+            Map<Long, Aggregate> fresh = null;
+            try {
+                fresh = reseedTransaction.execute(status -> loadAggregates());
+            } finally {
+                changeLock.lock();
+                try {
+                    if (fresh != null) {
+                        for (Consumer<Map<Long, Aggregate>> change : changesDuringReseed) {
+                            change.accept(fresh);
+                        }
+                        aggregates = fresh;
+                        seeded = true;
+                    }
+                    changesDuringReseed = null;
+                } finally {
+                    changeLock.unlock();
+                }
+            }
+            log.debug("Seeded salary statistics for {} departments", fresh.size());
+        } finally {
+            reseedLock.unlock();
+        }
+    }
+
+    // Runs at publication, inside the writing transaction: hold off reseeds from its commit to the end of its listeners.
+    // Department changes need no guard, replaying a create (putIfAbsent) or delete (remove) is idempotent
+    @EventListener(EmployeeChangedEvent.class)
+    public void onEmployeeChangePublished() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.getSynchronizations().stream().anyMatch(CommitGuard.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new CommitGuard());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeSnapshot before = event.before();
+        EmployeeSnapshot after = event.after();
+        if (before != null && after != null
+                && Objects.equals(before.departmentId(), after.departmentId())
+                && compare(before.salary(), after.salary()) == 0) {
+            return;
+        }
+
+        record(target -> {
+            if (before != null && before.departmentId() != null) {
+                Aggregate aggregate = target.get(before.departmentId());
+                if (aggregate != null) {
+                    aggregate.remove(before.salary());
+                }
+            }
+            if (after != null && after.departmentId() != null) {
+                target.computeIfAbsent(after.departmentId(), id -> new Aggregate()).add(after.salary());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> record(target -> target.putIfAbsent(event.departmentId(), new Aggregate()));
+            case DELETED -> record(target -> target.remove(event.departmentId()));
+            case UPDATED -> { /* name/location changes do not affect the figures */ }
+        }
+    }
+
+    private void ensureSeeded() {
+        if (seeded) {
+            return;
+        }
+        // Readers arriving together wait for one reseed instead of each running their own
+        reseedLock.lock();
+        try {
+            if (!seeded) {
+                reseed();
+            }
+        } finally {
+            reseedLock.unlock();
+        }
+    }
+
+    private Map<Long, Aggregate> loadAggregates() {
+        Map<Long, Aggregate> fresh = new ConcurrentHashMap<>();
+
+        // No commit is in flight here: each one is either in the snapshot this first read pins
+        // (REPEATABLE READ) with its listeners already run, or commits later and is buffered
+        commitLock.writeLock().lock();
+        try {
+            departmentRepository.findAllIds().forEach(id -> fresh.put(id, new Aggregate()));
+            changeLock.lock();
+            try {
+                changesDuringReseed = new ArrayList<>();
+            } finally {
+                changeLock.unlock();
+            }
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+
+        for (Object[] row : employeeRepository.aggregateSalariesByDepartment()) {
+            Aggregate aggregate = fresh.computeIfAbsent((Long) row[0], id -> new Aggregate());
+            aggregate.seed((Long) row[1], (BigDecimal) row[2], (BigDecimal) row[3], (BigDecimal) row[4]);
+        }
+        return fresh;
+    }
+
+    // Applies a change to the live aggregates and keeps it for replay if a reseed is loading new ones
+    private void record(Consumer<Map<Long, Aggregate>> change) {
+        changeLock.lock();
+        try {
+            change.accept(aggregates);
+            if (changesDuringReseed != null) {
+                changesDuringReseed.add(change);
+            }
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    private DepartmentStatsResponse toResponse(Long departmentId, Aggregate aggregate) {
+        Aggregate.View view = aggregate.view();
+        BigDecimal min = view.min();
+        BigDecimal max = view.max();
+
+        // Fallback: an extreme left the department, so recompute min/max from the table
+        if (view.stale()) {
+            Object[] range = employeeRepository.findSalaryRangeByDepartmentId(departmentId).get(0);
+            min = (BigDecimal) range[0];
+            max = (BigDecimal) range[1];
+            aggregate.resolveRange(view.modCount(), min, max);
+        }
+
+        DepartmentStatsResponse response = new DepartmentStatsResponse();
+        response.setDepartmentId(departmentId);
+        response.setHeadcount(view.count());
+        response.setSalarySum(view.sum());
+        response.setSalaryAvg(view.count() > 0
+                ? view.sum().divide(BigDecimal.valueOf(view.count()), 2, RoundingMode.HALF_UP)
+                : null);
+        response.setSalaryMin(min);
+        response.setSalaryMax(max);
+        return response;
+    }
+
+    private static int compare(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    // afterCompletion runs after every afterCommit callback, so the transaction's listeners run under the lock
+    private final class CommitGuard implements TransactionSynchronization {
+
+        private boolean locked;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitLock.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (locked) {
+                locked = false;
+                commitLock.readLock().unlock();
+            }
+        }
+    }
+
+    // Mutable aggregate of one department; every access goes through the lock
+    private static final class Aggregate {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+        private boolean rangeStale;
+        private long modCount;
+
+        record View(long count, BigDecimal sum, BigDecimal min, BigDecimal max, boolean stale, long modCount) {
+        }
+
+        void seed(long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+            lock.lock();
+            try {
+                this.count = count;
+                this.sum = sum != null ? sum : BigDecimal.ZERO;
+                this.min = min;
+                this.max = max;
+                this.rangeStale = false;
+                modCount++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(BigDecimal salary) {
+            lock.lock();
+            try {
+                count++;
+                if (salary != null) {
+                    sum = sum.add(salary);
+                    if (!rangeStale) {
+                        min = min == null || salary.compareTo(min) < 0 ? salary : min;
+                        max = max == null || salary.compareTo(max) > 0 ? salary : max;
+                    }
+                }
+                modCount++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(BigDecimal salary) {
+            lock.lock();
+            try {
+                count = Math.max(0, count - 1);
+                if (salary != null) {
+                    sum = sum.subtract(salary);
+                }
+                if (count == 0) {
+                    sum = BigDecimal.ZERO;
+                    min = null;
+                    max = null;
+                    rangeStale = false;
+                } else if (salary == null || (min != null && salary.compareTo(min) == 0)
+                        || (max != null && salary.compareTo(max) == 0)) {
+                    rangeStale = true;
+                }
+                modCount++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Apply a recomputed range only if nothing changed while it was being queried
+        void resolveRange(long observedModCount, BigDecimal newMin, BigDecimal newMax) {
+            lock.lock();
+            try {
+                if (modCount == observedModCount) {
+                    min = newMin;
+                    max = newMax;
+                    rangeStale = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        View view() {
+            lock.lock();
+            try {
+                return new View(count, sum, min, max, rangeStale, modCount);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
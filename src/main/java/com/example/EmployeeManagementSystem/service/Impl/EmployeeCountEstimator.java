@@ -0,0 +1,64 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Approximate employee totals for count-free listings. Counts are computed off the
+ * request thread and refreshed in the background, so a request never waits on COUNT(*).
+ */
+@Component
+public class EmployeeCountEstimator {
+
+    private static final Long ALL = 0L;
+
+    // department id (0 = all employees) -> row count
+    private final AsyncLoadingCache<Long, Long> counts;
+
+    private final DepartmentDirectory departmentDirectory;
+
+    public EmployeeCountEstimator(EmployeeRepository employeeRepository,
+                                  DepartmentDirectory departmentDirectory,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                  Executor taskExecutor,
+                                  @Value("${employees.count-estimate.refresh-interval:PT1M}") Duration refreshInterval,
+                                  @Value("${employees.count-estimate.max-size:1000}") long maxSize) {
+        this.departmentDirectory = departmentDirectory;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshInterval)
+                .expireAfterAccess(refreshInterval.multipliedBy(60))
+                // COUNT(*) blocks on JDBC for seconds; keep it off the shared ForkJoinPool.commonPool()
+                .executor(taskExecutor)
+                .buildAsync(key -> ALL.equals(key)
+                        ? employeeRepository.count()
+                        : employeeRepository.countByDepartmentId(key));
+    }
+
+    /**
+     * Returns the last known count, or {@code null} while the first count is still running.
+     */
+    public Long estimate(String departmentName) {
+        Long key = ALL;
+        if (departmentName != null && !departmentName.isBlank()) {
+            // Keyed by id, so names differing only in case share one count
+            Optional<Long> departmentId = departmentDirectory.findId(departmentName);
+            if (departmentId.isEmpty()) {
+                return 0L;
+            }
+            key = departmentId.get();
+        }
+        CompletableFuture<Long> count = counts.get(key);
+        return count.isDone() && !count.isCompletedExceptionally() ? count.join() : null;
+    }
+}
@@ -0,0 +1,573 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
+import com.example.EmployeeManagementSystem.dto.ImportJobResponse;
+import com.example.EmployeeManagementSystem.dto.ImportRowError;
+import com.example.EmployeeManagementSystem.entity.Department;
+import com.example.EmployeeManagementSystem.entity.Employee;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import com.example.EmployeeManagementSystem.exceptions.ResourceNotFoundException;
+import com.example.EmployeeManagementSystem.exceptions.ServiceUnavailableException;
+import com.example.EmployeeManagementSystem.mapper.EmployeeMapper;
+import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import com.example.EmployeeManagementSystem.service.EmployeeImportService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Background CSV import of employees.
+ * <p>
+ * The file is read as a stream in chunks. Each chunk is validated in parallel on a
+ * separate pool while the previous chunk is being written, so parsing, validation
+ * and the database overlap and at most two chunks are held in memory. Every chunk
+ * commits in its own transaction and is retried a few times; chunks that still fail
+ * are kept on the job and can be re-run later without touching the rest of the file.
+ * A chunk rejected by a database constraint is bisected instead, so only the offending
+ * rows are reported as row errors.
+ */
+@Timed(value = "api.service", histogram = true)
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportServiceImpl.class);
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email", "salary");
+
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ThreadPoolExecutor jobExecutor;
+    private final ThreadPoolExecutor validationExecutor;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    private final int chunkSize;
+    private final int validationThreads;
+    private final int chunkRetries;
+    private final int maxErrors;
+    private final Duration jobTtl;
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository,
+                                     DepartmentRepository departmentRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     Validator validator,
+                                     EntityManager entityManager,
+                                     ApplicationEventPublisher eventPublisher,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${employees.import.job-threads:1}") int jobThreads,
+                                     @Value("${employees.import.queue-capacity:4}") int queueCapacity,
+                                     @Value("${employees.import.chunk-size:1000}") int chunkSize,
+                                     @Value("${employees.import.validation-threads:0}") int validationThreads,
+                                     @Value("${employees.import.chunk-retries:2}") int chunkRetries,
+                                     @Value("${employees.import.max-errors:1000}") int maxErrors,
+                                     @Value("${employees.import.job-ttl:PT24H}") Duration jobTtl,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.chunkRetries = chunkRetries;
+        this.maxErrors = maxErrors;
+        this.jobTtl = jobTtl;
+
+        // Jobs run one after another by default; extra uploads wait in a short queue.
+        // Job threads mostly block on the database, so they may be virtual
+        this.jobExecutor = new ThreadPoolExecutor(
+                jobThreads, jobThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                virtualThreads ? Thread.ofVirtual().name("import-", 1).factory() : new CustomizableThreadFactory("import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Bean validation is CPU bound, so default to one worker per core
+        this.validationThreads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        this.validationExecutor = new ThreadPoolExecutor(
+                this.validationThreads, this.validationThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("import-validate-"));
+
+        new ExecutorServiceMetrics(jobExecutor, "import", Tags.empty()).bindTo(meterRegistry);
+        new ExecutorServiceMetrics(validationExecutor, "import.validation", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public ImportJobResponse submit(MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new BadRequestException("A non-empty CSV file is required");
+        }
+
+        // Spool to disk so the job does not depend on the request's multipart storage
+        Path spooled = Files.createTempFile("employee-import-", ".csv");
+        file.transferTo(spooled);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> runImport(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(spooled);
+            throw new ServiceUnavailableException("Too many imports in progress, please retry later", 30);
+        }
+        log.info("Queued import job {} for file {} ({} bytes)", job.id, job.fileName, file.getSize());
+        return toResponse(job);
+    }
+
+    @Override
+    public ImportJobResponse getJob(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    @Override
+    public ImportJobResponse retryFailedChunks(String jobId) {
+        ImportJob job = findJob(jobId);
+        ImportJob.Status current = job.status.get();
+        if (current == ImportJob.Status.QUEUED || current == ImportJob.Status.RUNNING) {
+            throw new BadRequestException("Import job " + jobId + " is still running");
+        }
+        if (job.failedChunks.isEmpty()) {
+            throw new BadRequestException("Import job " + jobId + " has no failed chunks");
+        }
+
+        // CAS so that two concurrent retry requests cannot both queue a run
+        if (!job.status.compareAndSet(current, ImportJob.Status.QUEUED)) {
+            throw new BadRequestException("Import job " + jobId + " is still running");
+        }
+        try {
+            jobExecutor.execute(() -> runRetry(job));
+        } catch (RejectedExecutionException e) {
+            job.status.set(current);
+            throw new ServiceUnavailableException("Too many imports in progress, please retry later", 30);
+        }
+        return toResponse(job);
+    }
+
+    @Scheduled(fixedDelayString = "${employees.import.purge-interval:PT1H}")
+    public void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(jobTtl);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff)
+                && job.status.get() != ImportJob.Status.QUEUED && job.status.get() != ImportJob.Status.RUNNING);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdown();
+        validationExecutor.shutdown();
+    }
+
+    private void runImport(ImportJob job, Path file) {
+        job.start();
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(reader);
+
+            // Pipeline: chunk N+1 is parsed and validated while chunk N is written
+            CompletableFuture<List<ImportRow>> pending = null;
+            List<ImportRow> chunk;
+            while (!(chunk = readChunk(reader, columns, job)).isEmpty()) {
+                CompletableFuture<List<ImportRow>> validated = validate(chunk);
+                if (pending != null) {
+                    writeChunk(job, pending.join());
+                }
+                pending = validated;
+            }
+            if (pending != null) {
+                writeChunk(job, pending.join());
+            }
+            job.finish(null);
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.id, e);
+            job.finish(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+        log.info("Import job {} finished: status={}, imported={}, failed={}, failedChunks={}",
+                job.id, job.status.get(), job.rowsImported.get(), job.rowsFailed.get(), job.failedChunks.size());
+    }
+
+    private void runRetry(ImportJob job) {
+        job.status.set(ImportJob.Status.RUNNING);
+        try {
+            List<ImportRow> chunk;
+            int retried = job.failedChunks.size();
+            for (int i = 0; i < retried && (chunk = job.failedChunks.poll()) != null; i++) {
+                insertWithRetries(job, chunk);
+            }
+            job.finish(null);
+        } catch (Exception e) {
+            log.error("Retry of import job {} failed", job.id, e);
+            job.finish(e.getMessage());
+        }
+    }
+
+    // Header names are matched case-insensitively; unknown columns (e.g. "id" from an export) are ignored
+    private Map<String, Integer> readHeader(CsvRecordReader reader) throws IOException {
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new BadRequestException("The file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !columns.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Missing required columns: " + missing);
+        }
+        return columns;
+    }
+
+    private List<ImportRow> readChunk(CsvRecordReader reader, Map<String, Integer> columns, ImportJob job)
+            throws IOException {
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while (chunk.size() < chunkSize && (record = reader.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            chunk.add(toRow(reader.recordLine(), record, columns));
+            job.rowsRead.incrementAndGet();
+        }
+        return chunk;
+    }
+
+    private static ImportRow toRow(long line, List<String> record, Map<String, Integer> columns) {
+        ImportRow row = new ImportRow(line);
+        EmployeeRequest request = new EmployeeRequest();
+        request.setFirstName(column(record, columns, "firstname"));
+        request.setLastName(column(record, columns, "lastname"));
+        request.setEmail(column(record, columns, "email"));
+        request.setPhone(column(record, columns, "phone"));
+        String salary = column(record, columns, "salary");
+        if (salary != null) {
+            try {
+                request.setSalary(new BigDecimal(salary));
+            } catch (NumberFormatException e) {
+                row.error = "salary: not a number";
+            }
+        }
+        row.request = request;
+        row.departmentName = column(record, columns, "departmentname");
+        return row;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Same constraints as the single-row endpoint; slices of the chunk are checked concurrently
+    private CompletableFuture<List<ImportRow>> validate(List<ImportRow> chunk) {
+        int sliceSize = Math.max(1, (chunk.size() + validationThreads - 1) / validationThreads);
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<ImportRow> slice = chunk.subList(from, Math.min(chunk.size(), from + sliceSize));
+            slices.add(CompletableFuture.runAsync(() -> slice.forEach(this::validateRow), validationExecutor));
+        }
+        return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new)).thenApply(done -> chunk);
+    }
+
+    private void validateRow(ImportRow row) {
+        if (row.error != null) {
+            return;
+        }
+        Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+    }
+
+    // Runs on the job thread: resolves departments, drops in-file duplicates, then writes what is left
+    private void writeChunk(ImportJob job, List<ImportRow> rows) {
+        resolveDepartments(job, rows);
+
+        List<ImportRow> accepted = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (row.error == null && !job.seenEmails.add(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                row.error = "email: duplicated within the file";
+            }
+            if (row.error != null) {
+                job.rejectRow(row.line, row.error, maxErrors);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            insertWithRetries(job, accepted);
+        }
+    }
+
+    // Department name -> id through the job's cache; only names not seen before hit the database
+    private void resolveDepartments(ImportJob job, List<ImportRow> rows) {
+        Set<String> unknown = new HashSet<>();
+        for (ImportRow row : rows) {
+            if (row.error == null && row.departmentName != null && !job.departmentIds.containsKey(row.departmentName)) {
+                unknown.add(row.departmentName);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (Department department : departmentRepository.findByNameIn(unknown)) {
+                job.departmentIds.put(department.getName(), Optional.of(department.getId()));
+                unknown.remove(department.getName());
+            }
+            unknown.forEach(name -> job.departmentIds.put(name, Optional.empty()));
+        }
+
+        for (ImportRow row : rows) {
+            if (row.error == null && row.departmentName != null) {
+                Optional<Long> id = job.departmentIds.get(row.departmentName);
+                if (id.isPresent()) {
+                    row.request.setDepartmentId(id.get());
+                } else {
+                    row.error = "departmentName: Department '" + row.departmentName + "' not found";
+                }
+            }
+        }
+    }
+
+    private void insertWithRetries(ImportJob job, List<ImportRow> rows) {
+        if (writeRows(job, rows)) {
+            job.chunksWritten.incrementAndGet();
+        }
+    }
+
+    // Returns false if some rows were set aside in failedChunks for a later retry
+    private boolean writeRows(ImportJob job, List<ImportRow> rows) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                ChunkResult result = transactionTemplate.execute(status -> insertChunk(rows));
+                job.rowsImported.addAndGet(result.imported());
+                result.rejected().forEach(error -> job.rejectRow(error.getLine(), error.getError(), maxErrors));
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                // Not transient: some row breaks a constraint validation cannot see (column size,
+                // a duplicate inserted meanwhile). Bisect until the offending rows stand alone
+                if (rows.size() == 1) {
+                    job.rejectRow(rows.get(0).line, "rejected by the database: " + describe(e), maxErrors);
+                    return true;
+                }
+                int middle = rows.size() / 2;
+                boolean first = writeRows(job, new ArrayList<>(rows.subList(0, middle)));
+                boolean second = writeRows(job, new ArrayList<>(rows.subList(middle, rows.size())));
+                return first && second;
+            } catch (RuntimeException e) {
+                if (attempt >= chunkRetries) {
+                    log.warn("Import job {}: chunk starting at line {} failed after {} attempts: {}",
+                            job.id, rows.get(0).line, attempt + 1, e.getMessage());
+                    job.failedChunks.add(rows);
+                    return false;
+                }
+                log.debug("Import job {}: retrying chunk starting at line {}", job.id, rows.get(0).line, e);
+                sleepQuietly(200L * (attempt + 1));
+            }
+        }
+    }
+
+    private static String describe(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        return message.length() > 200 ? message.substring(0, 200) + "..." : message;
+    }
+
+    // One transaction: skip e-mails already in the table, insert the rest as JDBC batches
+    private ChunkResult insertChunk(List<ImportRow> rows) {
+        List<String> emails = rows.stream().map(row -> row.request.getEmail()).toList();
+        Set<String> existing = employeeRepository.findExistingEmails(emails).stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+
+        List<ImportRowError> rejected = new ArrayList<>();
+        List<Employee> employees = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                rejected.add(new ImportRowError(row.line, "email: already exists"));
+                continue;
+            }
+            Long departmentId = row.request.getDepartmentId();
+            Department department = departmentId != null ? departmentRepository.getReferenceById(departmentId) : null;
+            employees.add(EmployeeMapper.toEntity(row.request, department));
+        }
+
+        employeeRepository.saveAll(employees);
+        employeeRepository.flush();
+        employees.forEach(emp -> eventPublisher.publishEvent(EmployeeChangedEvent.created(EmployeeMapper.toSnapshot(emp))));
+        entityManager.clear();
+        return new ChunkResult(employees.size(), rejected);
+    }
+
+    private ImportJob findJob(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job " + jobId + " not found");
+        }
+        return job;
+    }
+
+    private static ImportJobResponse toResponse(ImportJob job) {
+        ImportJobResponse response = new ImportJobResponse();
+        response.setJobId(job.id);
+        response.setStatus(job.status.get().name());
+        response.setFileName(job.fileName);
+        response.setRowsRead(job.rowsRead.get());
+        response.setRowsImported(job.rowsImported.get());
+        response.setRowsFailed(job.rowsFailed.get());
+        response.setChunksWritten(job.chunksWritten.get());
+        response.setChunksFailed(job.failedChunks.size());
+        response.setMessage(job.message);
+        response.setStartedAt(job.startedAt);
+        response.setFinishedAt(job.finishedAt);
+        response.setErrors(List.copyOf(job.errors));
+
+        if (job.startedAt != null) {
+            Instant end = job.finishedAt != null ? job.finishedAt : Instant.now();
+            double seconds = Math.max(0.001, Duration.between(job.startedAt, end).toMillis() / 1000.0);
+            long processed = job.rowsImported.get() + job.rowsFailed.get();
+            response.setRowsPerSecond(Math.round(processed / seconds * 10) / 10.0);
+        }
+        return response;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ChunkResult(int imported, List<ImportRowError> rejected) {
+    }
+
+    // One parsed data row; error is set by parsing, validation or resolution
+    private static final class ImportRow {
+
+        private final long line;
+        private EmployeeRequest request;
+        private String departmentName;
+        private volatile String error;
+
+        private ImportRow(long line) {
+            this.line = line;
+        }
+    }
+
+    // Mutable job state; counters are read by status requests while the job thread writes them
+    private static final class ImportJob {
+
+        enum Status { QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS, FAILED }
+
+        private final String id;
+        private final String fileName;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong rowsImported = new AtomicLong();
+        private final AtomicLong rowsFailed = new AtomicLong();
+        private final AtomicLong chunksWritten = new AtomicLong();
+        private final Queue<ImportRowError> errors = new ConcurrentLinkedQueue<>();
+        private final Queue<List<ImportRow>> failedChunks = new ConcurrentLinkedQueue<>();
+
+        // Only touched by the job thread
+        private final Map<String, Optional<Long>> departmentIds = new HashMap<>();
+        private final Set<String> seenEmails = new HashSet<>();
+
+        private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+        private volatile String message;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        void start() {
+            startedAt = Instant.now();
+            status.set(Status.RUNNING);
+        }
+
+        void rejectRow(long line, String error, int maxErrors) {
+            if (rowsFailed.incrementAndGet() <= maxErrors) {
+                errors.add(new ImportRowError(line, error));
+            }
+        }
+
+        void finish(String failure) {
+            message = failure;
+            finishedAt = Instant.now();
+            if (failure != null) {
+                status.set(Status.FAILED);
+            } else if (rowsFailed.get() > 0 || !failedChunks.isEmpty()) {
+                status.set(Status.COMPLETED_WITH_ERRORS);
+            } else {
+                status.set(Status.COMPLETED);
+            }
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search index over employee names and e-mail addresses.
+ * <p>
+ * "first last" and the e-mail are split into trigrams; each trigram maps to a sorted
+ * array of employee ids. A query of three or more characters intersects the postings
+ * of its trigrams and verifies the survivors, which gives substring matches. Shorter
+ * queries use the 1- and 2-character prefixes of each field and match prefixes only.
+ * The index is built from the database at startup and updated from committed
+ * employee changes.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final String PREFIX_MARK = "^";
+    private static final int MAX_SCORE = 15;
+
+    private final EmployeeRepository employeeRepository;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    // Changes seen while a rebuild is running; replayed onto the new index before it is swapped in
+    private List<EmployeeChangedEvent> changesDuringRebuild;
+
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               @Value("${employees.search.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        this.employeeRepository = employeeRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    public record SearchResult(List<Long> ids, long total) {
+    }
+
+    /**
+     * Ranked ids for the query: exact field match first, then prefix, word start and
+     * plain substring; ties are ordered by id.
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        long[] ranked;
+        lock.readLock().lock();
+        try {
+            ranked = index.rank(q);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Each entry is (MAX_SCORE - score) << 48 | id, so an ascending sort ranks best first
+        Arrays.sort(ranked);
+        List<Long> page = new ArrayList<>();
+        for (int i = offset; i < ranked.length && page.size() < limit; i++) {
+            page.add(ranked[i] & 0xFFFF_FFFF_FFFFL);
+        }
+        return new SearchResult(page, ranked.length);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = employeeRepository.findSearchFieldsAfter(afterId, Limit.of(rebuildBatchSize));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                fresh.add(afterId, Doc.of((String) row[1], (String) row[2], (String) row[3]));
+            }
+        } while (rows.size() == rebuildBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach(event -> fresh.apply(event.before(), event.after()));
+            changesDuringRebuild = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built employee search index: {} employees, {} grams", fresh.docs.size(), fresh.postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event.before(), event.after());
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Lower-cased searchable fields of one employee
+    private record Doc(String firstName, String lastName, String fullName, String email) {
+
+        static Doc of(String firstName, String lastName, String email) {
+            String first = normalize(firstName);
+            String last = normalize(lastName);
+            return new Doc(first, last, first + " " + last, normalize(email));
+        }
+
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            trigrams(fullName, grams);
+            trigrams(email, grams);
+            for (String field : new String[]{firstName, lastName, email}) {
+                for (int length = 1; length <= Math.min(2, field.length()); length++) {
+                    grams.add(PREFIX_MARK + field.substring(0, length));
+                }
+            }
+            return grams;
+        }
+
+        // 0 = no match; larger is better. Names weigh more than the e-mail
+        int score(String q) {
+            int name = Math.max(quality(firstName, q), Math.max(quality(lastName, q), quality(fullName, q)));
+            return Math.max(name * 3, quality(email, q) * 2);
+        }
+
+        private static int quality(String field, String q) {
+            if (field.equals(q)) {
+                return 5;
+            }
+            if (field.startsWith(q)) {
+                return 4;
+            }
+            if (q.length() < 3) {
+                return 0;
+            }
+            int at = field.indexOf(q);
+            if (at < 0) {
+                return 0;
+            }
+            do {
+                if (!Character.isLetterOrDigit(field.charAt(at - 1))) {
+                    return 2;
+                }
+                at = field.indexOf(q, at + 1);
+            } while (at > 0);
+            return 1;
+        }
+
+        private static void trigrams(String text, Set<String> out) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                out.add(text.substring(i, i + 3));
+            }
+        }
+    }
+
+    // Not thread safe; guarded by the outer read/write lock
+    private static final class Index {
+
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<String, IdSet> postings = new HashMap<>();
+
+        void apply(EmployeeSnapshot before, EmployeeSnapshot after) {
+            if (after != null) {
+                Doc doc = Doc.of(after.firstName(), after.lastName(), after.email());
+                if (doc.equals(docs.get(after.id()))) {
+                    return;
+                }
+                remove(after.id());
+                add(after.id(), doc);
+            } else if (before != null) {
+                remove(before.id());
+            }
+        }
+
+        void add(long id, Doc doc) {
+            docs.put(id, doc);
+            for (String gram : doc.grams()) {
+                postings.computeIfAbsent(gram, key -> new IdSet()).add(id);
+            }
+        }
+
+        void remove(long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String gram : doc.grams()) {
+                IdSet ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        long[] rank(String q) {
+            List<IdSet> lists = new ArrayList<>();
+            if (q.length() < 3) {
+                IdSet ids = postings.get(PREFIX_MARK + q);
+                if (ids == null) {
+                    return new long[0];
+                }
+                lists.add(ids);
+            } else {
+                for (int i = 0; i + 3 <= q.length(); i++) {
+                    IdSet ids = postings.get(q.substring(i, i + 3));
+                    if (ids == null) {
+                        return new long[0];
+                    }
+                    lists.add(ids);
+                }
+            }
+
+            // Walk the shortest posting list and probe the others
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+            IdSet smallest = lists.get(0);
+            long[] ranked = new long[smallest.size];
+            int count = 0;
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.size() && inAll; j++) {
+                    inAll = lists.get(j).contains(id);
+                }
+                if (!inAll) {
+                    continue;
+                }
+                // Trigram hits can be false positives; the score check confirms the substring
+                int score = docs.get(id).score(q);
+                if (score > 0) {
+                    ranked[count++] = ((long) (MAX_SCORE - score) << 48) | id;
+                }
+            }
+            return Arrays.copyOf(ranked, count);
+        }
+    }
+
+    // Sorted, growable array of ids; appends are O(1) because new ids are usually the largest
+    private static final class IdSet {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                pos = -pos - 1;
+                grow();
+                System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+                ids[pos] = id;
+            } else {
+                grow();
+                ids[size] = id;
+            }
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+        }
+    }
+}
@@ -1,26 +1,76 @@
 package com.example.EmployeeManagementSystem.service.Impl;
 
+import com.example.EmployeeManagementSystem.dto.BatchCreateResponse;
+import com.example.EmployeeManagementSystem.dto.BatchItemResult;
+import com.example.EmployeeManagementSystem.dto.EmployeeFilter;
+import com.example.EmployeeManagementSystem.dto.EmployeePatchRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
 import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
+import com.example.EmployeeManagementSystem.dto.ExportFormat;
 import com.example.EmployeeManagementSystem.entity.Department;
 import com.example.EmployeeManagementSystem.entity.Employee;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import com.example.EmployeeManagementSystem.exceptions.PreconditionFailedException;
 import com.example.EmployeeManagementSystem.exceptions.ResourceNotFoundException;
+import com.example.EmployeeManagementSystem.mapper.DepartmentMapper;
 import com.example.EmployeeManagementSystem.mapper.EmployeeMapper;
 import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
 import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import com.example.EmployeeManagementSystem.repository.EmployeeSpecifications;
 import com.example.EmployeeManagementSystem.service.EmployeeService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
+
+@Timed(value = "api.service", histogram = true)
 @Service
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
@@ -29,68 +79,421 @@ public class EmployeeServiceImpl implements EmployeeService {
 
     private final DepartmentRepository departmentRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final EmployeeCountEstimator countEstimator;
+
+    private final Validator validator;
+
+    private final EntityManager entityManager;
+
+    private final EmployeeSearchIndex searchIndex;
+
+    private final EntityCaches entityCaches;
+
+    private final DepartmentDirectory departmentDirectory;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${employees.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    // Rows flushed (as JDBC batches) and cleared from the persistence context at a time
+    @Value("${employees.batch.chunk-size:500}")
+    private int batchChunkSize;
+
     private static final Logger log = LoggerFactory.getLogger(EmployeeServiceImpl.class);
 
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
     @Override
     @Transactional
     public EmployeeResponse create(EmployeeRequest request) {
         log.debug("Creating employee: {}", request);
-        Department dept = null;
-        if (request.getDepartmentId() != null) {
-            dept = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + request.getDepartmentId() + " not found"));
-        }
-        Employee employee = EmployeeMapper.toEntity(request, dept);
+        EntityCaches.DepartmentRef departmentRef = resolveDepartment(request.getDepartmentId());
+        Employee employee = EmployeeMapper.toEntity(request, toReference(departmentRef));
         Employee saved = employeeRepository.save(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(EmployeeMapper.toSnapshot(saved)));
         log.info("Created employee id={}", saved.getId());
-        return EmployeeMapper.toResponse(saved);
+        return EmployeeMapper.toResponse(saved, departmentRef != null ? departmentRef.name() : null);
+    }
+
+    // Cached existence check + name; the write itself only needs a reference, not a loaded department
+    private EntityCaches.DepartmentRef resolveDepartment(Long departmentId) {
+        if (departmentId == null) {
+            return null;
+        }
+        return entityCaches.departmentRefs().get(departmentId, id -> departmentRepository.findById(id)
+                .map(dept -> new EntityCaches.DepartmentRef(dept.getId(), dept.getName()))
+                .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + id + " not found")));
+    }
+
+    private Department toReference(EntityCaches.DepartmentRef departmentRef) {
+        return departmentRef != null ? departmentRepository.getReferenceById(departmentRef.id()) : null;
+    }
+
+    // No surrounding transaction: every chunk commits on its own, so one failing chunk does not undo the others
+    @Override
+    public BatchCreateResponse createBatch(List<EmployeeRequest> requests) {
+        log.debug("Creating {} employees in batch", requests.size());
+        if (requests.size() > batchMaxSize) {
+            throw new BadRequestException("A batch may contain at most " + batchMaxSize + " employees");
+        }
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+
+        //  Step 1: Bean validation with the same constraints as the single-item endpoint
+        for (int i = 0; i < requests.size(); i++) {
+            EmployeeRequest request = requests.get(i);
+            if (request == null) {
+                results[i] = BatchItemResult.failed(i, "item must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<EmployeeRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResult.failed(i, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+
+        //  Step 2: E-mail uniqueness inside the batch and against the table, one query
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] == null) {
+                emails.add(requests.get(i).getEmail());
+            }
+        }
+        Set<String> existingEmails = emails.isEmpty() ? Set.of() : employeeRepository.findExistingEmails(emails).stream()
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            String email = requests.get(i).getEmail().toLowerCase(Locale.ROOT);
+            if (existingEmails.contains(email)) {
+                results[i] = BatchItemResult.failed(i, "email: already exists");
+            } else if (!batchEmails.add(email)) {
+                results[i] = BatchItemResult.failed(i, "email: duplicated within the batch");
+            }
+        }
+
+        //  Step 3: Resolve every referenced department with one query
+        Set<Long> departmentIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] == null && requests.get(i).getDepartmentId() != null) {
+                departmentIds.add(requests.get(i).getDepartmentId());
+            }
+        }
+        Map<Long, Department> departments = departmentIds.isEmpty() ? Map.of() : departmentRepository.findAllById(departmentIds)
+                .stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+
+        //  Step 4: Insert in chunks, one transaction each; flush sends JDBC batches, clear keeps the persistence context small
+        List<Employee> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        int created = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            EmployeeRequest request = requests.get(i);
+            Department department = null;
+            if (request.getDepartmentId() != null) {
+                department = departments.get(request.getDepartmentId());
+                if (department == null) {
+                    results[i] = BatchItemResult.failed(i,
+                            "departmentId: Department with ID " + request.getDepartmentId() + " not found");
+                    continue;
+                }
+            }
+            chunk.add(EmployeeMapper.toEntity(request, department));
+            chunkIndexes.add(i);
+            if (chunk.size() == batchChunkSize) {
+                created += insertChunk(chunk, chunkIndexes, results);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += insertChunk(chunk, chunkIndexes, results);
+        }
+
+        log.info("Batch created {} of {} employees", created, requests.size());
+        return new BatchCreateResponse(created, requests.size() - created, Arrays.asList(results));
+    }
+
+    private int insertChunk(List<Employee> chunk, List<Integer> chunkIndexes, BatchItemResult[] results) {
+        int inserted = 0;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                employeeRepository.saveAll(chunk);
+                employeeRepository.flush();
+                chunk.forEach(saved -> eventPublisher.publishEvent(EmployeeChangedEvent.created(EmployeeMapper.toSnapshot(saved))));
+                entityManager.clear();
+            });
+            for (int j = 0; j < chunk.size(); j++) {
+                results[chunkIndexes.get(j)] = BatchItemResult.created(chunkIndexes.get(j), chunk.get(j).getId());
+            }
+            inserted = chunk.size();
+        } catch (DataIntegrityViolationException e) {
+            // A constraint the checks above cannot see, e.g. an e-mail inserted by another request
+            // since step 2. The chunk has rolled back as a whole, so all of its items failed
+            log.warn("Batch chunk of {} employees rejected: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+            String error = "rejected by the database: " + describe(e);
+            for (int index : chunkIndexes) {
+                results[index] = BatchItemResult.failed(index, error);
+            }
+        }
+
+        chunk.clear();
+        chunkIndexes.clear();
+        return inserted;
     }
 
-    public Page<EmployeeResponse> getAll(String departmentName, Pageable pageable) {
-        log.debug("Fetching employees. departmentFilter={}, pageable={}", departmentName, pageable);
+    private static String describe(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        return message.length() > 200 ? message.substring(0, 200) + "..." : message;
+    }
+
+    public Page<EmployeeResponse> getAll(EmployeeFilter filter, Pageable pageable) {
+        log.debug("Fetching employees. filter={}, pageable={}", filter, pageable);
+        String departmentName = filter.getDepartmentName();
+        if (!filter.hasOnlyDepartmentName()) {
+            return findFiltered(filter, pageable);
+        }
+
         Page<Employee> page;
         if (departmentName == null || departmentName.isBlank()) {
             page = employeeRepository.findAll(pageable);
         } else {
-            page = employeeRepository.findByDepartment_Name(departmentName, pageable);
+            Optional<Long> departmentId = departmentDirectory.findId(departmentName);
+            if (departmentId.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            page = employeeRepository.findByDepartmentId(departmentId.get(), pageable);
         }
         return page.map(EmployeeMapper::toResponse);
     }
 
+    // AND of the given criteria, built from EmployeeSpecifications
+    private Page<EmployeeResponse> findFiltered(EmployeeFilter filter, Pageable pageable) {
+        List<Specification<Employee>> criteria = new ArrayList<>();
+
+        if (filter.getDepartmentName() != null && !filter.getDepartmentName().isBlank()) {
+            Optional<Long> departmentId = departmentDirectory.findId(filter.getDepartmentName());
+            if (departmentId.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            criteria.add(EmployeeSpecifications.departmentIdIn(List.of(departmentId.get())));
+        }
+        if (filter.getDepartmentIds() != null && !filter.getDepartmentIds().isEmpty()) {
+            criteria.add(EmployeeSpecifications.departmentIdIn(filter.getDepartmentIds()));
+        }
+        if (filter.getMinSalary() != null || filter.getMaxSalary() != null) {
+            criteria.add(EmployeeSpecifications.salaryBetween(filter.getMinSalary(), filter.getMaxSalary()));
+        }
+        if (filter.getLastNamePrefix() != null && !filter.getLastNamePrefix().isBlank()) {
+            criteria.add(EmployeeSpecifications.lastNameStartsWith(filter.getLastNamePrefix().trim()));
+        }
+        if (filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank()) {
+            criteria.add(EmployeeSpecifications.emailDomain(filter.getEmailDomain()));
+        }
+
+        return employeeRepository.findAll(Specification.allOf(criteria), pageable)
+                .map(EmployeeMapper::toResponse);
+    }
+
     @Override
     @Transactional(readOnly = true)
+    public Slice<EmployeeResponse> getSlice(String departmentName, Pageable pageable) {
+        log.debug("Fetching employee slice. departmentFilter={}, pageable={}", departmentName, pageable);
+        Slice<Employee> slice;
+        if (departmentName == null || departmentName.isBlank()) {
+            slice = employeeRepository.findSliceBy(pageable);
+        } else {
+            Optional<Long> departmentId = departmentDirectory.findId(departmentName);
+            if (departmentId.isEmpty()) {
+                return new SliceImpl<>(List.of(), pageable, false);
+            }
+            slice = employeeRepository.findSliceByDepartmentId(departmentId.get(), pageable);
+        }
+        return slice.map(EmployeeMapper::toResponse);
+    }
+
+    @Override
+    public Long estimateTotal(String departmentName) {
+        return countEstimator.estimate(departmentName);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EmployeeResponse> search(String query, Pageable pageable) {
+        log.debug("Searching employees. query={}, pageable={}", query, pageable);
+        EmployeeSearchIndex.SearchResult result =
+                searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+
+        // One query for the page, then restore the index's ranking order
+        Map<Long, Employee> byId = employeeRepository.findAllById(result.ids()).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        List<EmployeeResponse> content = result.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(EmployeeMapper::toResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, result.total());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<EmployeeResponse> scroll(String departmentName, ScrollPosition position, Sort sort, int size) {
+        log.debug("Scrolling employees. departmentFilter={}, sort={}, size={}", departmentName, sort, size);
+        Window<Employee> window;
+        if (departmentName == null || departmentName.isBlank()) {
+            window = employeeRepository.findAllBy(position, sort, Limit.of(size));
+        } else {
+            Optional<Long> departmentId = departmentDirectory.findId(departmentName);
+            if (departmentId.isEmpty()) {
+                return Window.from(List.of(), index -> position);
+            }
+            window = employeeRepository.findByDepartmentId(departmentId.get(), position, sort, Limit.of(size));
+        }
+        return window.map(EmployeeMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String departmentName, ExportFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting employees. departmentFilter={}, format={}", departmentName, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE);
+        ObjectWriter jsonWriter = objectMapper.writerFor(EmployeeResponse.class);
+        if (format == ExportFormat.CSV) {
+            writer.write(EmployeeMapper.CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        Optional<Long> departmentId = departmentName == null || departmentName.isBlank()
+                ? Optional.empty()
+                : departmentDirectory.findId(departmentName);
+        if (departmentName != null && !departmentName.isBlank() && departmentId.isEmpty()) {
+            writer.flush();
+            return;
+        }
+
+        long rows = 0;
+        try (Stream<Employee> employees = departmentId.isEmpty()
+                ? employeeRepository.streamAll()
+                : employeeRepository.streamByDepartmentId(departmentId.get())) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                Employee emp = iterator.next();
+                EmployeeResponse response = EmployeeMapper.toResponse(emp);
+
+                // Written rows are not needed again; keep the persistence context from growing
+                entityManager.detach(emp);
+
+                if (format == ExportFormat.CSV) {
+                    writer.write(EmployeeMapper.toCsvRow(response));
+                    writer.write("\r\n");
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(response));
+                    writer.write('\n');
+                }
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} employees as {}", rows, format);
+    }
+
+    // ETag check for conditional GETs: answered from the cache or a version-only query
+    @Override
+    public Long getVersion(Long id) {
+        EmployeeResponse cached = entityCaches.employees().getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return employeeRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee with ID " + id + " not found"));
+    }
+
+    // No surrounding transaction: a cache hit must not borrow a connection.
+    // The cached response is shared, so callers get a copy they are free to modify
+    @Override
     public EmployeeResponse getById(Long id) {
         log.debug("Fetching employee by id {}", id);
-        Employee emp = employeeRepository.findById(id)
+        EmployeeResponse cached = entityCaches.employees().get(id, key -> employeeRepository.findById(key)
+                .map(EmployeeMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee with ID " + key + " not found")));
+        return EmployeeMapper.copy(cached);
+    }
+
+    @Override
+    @Transactional
+    public EmployeeResponse updateEmployee(Long id, EmployeeRequest request, Long expectedVersion) {
+        Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee with ID " + id + " not found"));
-        return EmployeeMapper.toResponse(emp);
+        if (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) {
+            throw new PreconditionFailedException("Employee with ID " + id + " has been modified (version "
+                    + existingEmployee.getVersion() + ")");
+        }
+        EmployeeSnapshot before = EmployeeMapper.toSnapshot(existingEmployee);
+
+        EntityCaches.DepartmentRef departmentRef = resolveDepartment(request.getDepartmentId());
+
+        EmployeeMapper.updateEntity(existingEmployee, request, toReference(departmentRef));
+
+        // Flush now so the response carries the incremented version; a concurrent update fails here with 409
+        Employee updated = employeeRepository.saveAndFlush(existingEmployee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, EmployeeMapper.toSnapshot(updated)));
+        return EmployeeMapper.toResponse(updated, departmentRef != null ? departmentRef.name() : null);
     }
 
     @Override
     @Transactional
-    public EmployeeResponse updateEmployee(Long id, EmployeeRequest request) {
+    public EmployeeResponse patchEmployee(Long id, EmployeePatchRequest patch, Long expectedVersion) {
+        log.debug("Patching employee id={} with {}", id, patch);
         Employee existingEmployee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee with ID " + id + " not found"));
+        if (expectedVersion != null && !expectedVersion.equals(existingEmployee.getVersion())) {
+            throw new PreconditionFailedException("Employee with ID " + id + " has been modified (version "
+                    + existingEmployee.getVersion() + ")");
+        }
+        EmployeeSnapshot before = EmployeeMapper.toSnapshot(existingEmployee);
 
-        Department department = null;
-        if (request.getDepartmentId() != null) {
-            department = departmentRepository.findById(request.getDepartmentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Department with ID " + request.getDepartmentId() + " not found"));
+        EmployeeMapper.applyPatch(existingEmployee, patch);
+
+        // The department is only resolved when it actually changes
+        String departmentName = DepartmentMapper.toName(existingEmployee.getDepartment());
+        if (Boolean.TRUE.equals(patch.getClearDepartment())) {
+            existingEmployee.setDepartment(null);
+            departmentName = null;
+        } else if (patch.getDepartmentId() != null && !patch.getDepartmentId().equals(before.departmentId())) {
+            EntityCaches.DepartmentRef departmentRef = resolveDepartment(patch.getDepartmentId());
+            existingEmployee.setDepartment(toReference(departmentRef));
+            departmentName = departmentRef.name();
         }
 
-        EmployeeMapper.updateEntity(existingEmployee, request, department);
-        Employee updated = employeeRepository.save(existingEmployee);
-        return EmployeeMapper.toResponse(updated);
+        // @DynamicUpdate: the UPDATE lists only the changed columns (plus version)
+        Employee updated = employeeRepository.saveAndFlush(existingEmployee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(before, EmployeeMapper.toSnapshot(updated)));
+        return EmployeeMapper.toResponse(updated, departmentName);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
         log.debug("Deleting employee id={}", id);
-        if (!employeeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Employee with ID " + id + " not found");
-        }
-        employeeRepository.deleteById(id);
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee with ID " + id + " not found"));
+        employeeRepository.delete(employee);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(EmployeeMapper.toSnapshot(employee)));
         log.info("Deleted employee id={}", id);
     }
 
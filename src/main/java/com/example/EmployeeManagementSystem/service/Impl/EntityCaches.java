@@ -0,0 +1,89 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
+import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
+import com.example.EmployeeManagementSystem.event.DepartmentChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches for lookups by id, invalidated after every committed write.
+ * <ul>
+ *     <li>employees: employee id -> EmployeeResponse</li>
+ *     <li>departments: department id -> DepartmentResponse, including its employees</li>
+ *     <li>departmentRefs: department id -> id and name, used by employee writes</li>
+ * </ul>
+ * Cached responses are shared and never modified; the services' getById methods
+ * return copies (EmployeeMapper.copy, DepartmentMapper.copy).
+ */
+@Component
+public class EntityCaches {
+
+    // What employee writes need to know about a department: that it exists, and its name
+    public record DepartmentRef(Long id, String name) {
+    }
+
+    private final LookupCache<Long, EmployeeResponse> employees;
+    private final LookupCache<Long, DepartmentResponse> departments;
+    private final LookupCache<Long, DepartmentRef> departmentRefs;
+
+    public EntityCaches(MeterRegistry meterRegistry,
+                        @Value("${employees.cache.enabled:true}") boolean employeesEnabled,
+                        @Value("${employees.cache.max-size:10000}") long employeesMaxSize,
+                        @Value("${employees.cache.ttl:PT10M}") Duration employeesTtl,
+                        @Value("${departments.cache.enabled:true}") boolean departmentsEnabled,
+                        @Value("${departments.cache.max-size:500}") long departmentsMaxSize,
+                        @Value("${departments.cache.ttl:PT10M}") Duration departmentsTtl,
+                        @Value("${departments.ref-cache.enabled:true}") boolean refsEnabled,
+                        @Value("${departments.ref-cache.max-size:5000}") long refsMaxSize,
+                        @Value("${departments.ref-cache.ttl:PT1H}") Duration refsTtl) {
+        this.employees = new LookupCache<>("employees", employeesEnabled, employeesMaxSize, employeesTtl, meterRegistry);
+        this.departments = new LookupCache<>("departments", departmentsEnabled, departmentsMaxSize, departmentsTtl, meterRegistry);
+        this.departmentRefs = new LookupCache<>("departmentRefs", refsEnabled, refsMaxSize, refsTtl, meterRegistry);
+    }
+
+    LookupCache<Long, EmployeeResponse> employees() {
+        return employees;
+    }
+
+    LookupCache<Long, DepartmentResponse> departments() {
+        return departments;
+    }
+
+    LookupCache<Long, DepartmentRef> departmentRefs() {
+        return departmentRefs;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeSnapshot before = event.before();
+        EmployeeSnapshot after = event.after();
+        employees.invalidate(before != null ? before.id() : after.id());
+
+        // Department responses embed their employees
+        if (before != null) {
+            departments.invalidate(before.departmentId());
+        }
+        if (after != null) {
+            departments.invalidate(after.departmentId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        if (event.type() == DepartmentChangedEvent.Type.CREATED) {
+            return;
+        }
+        departments.invalidate(event.departmentId());
+        departmentRefs.invalidate(event.departmentId());
+
+        // Renamed or deleted (employees unlinked): the department name is baked into employee responses
+        employees.invalidateAll();
+    }
+}
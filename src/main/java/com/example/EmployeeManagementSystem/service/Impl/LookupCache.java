@@ -0,0 +1,75 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache that can be switched off; when disabled every lookup
+ * goes straight to the loader. Loader exceptions (e.g. not found) are not cached.
+ * <p>
+ * Loaders run outside the cache: Cache.get(key, loader) would run them inside
+ * ConcurrentHashMap.compute, whose synchronized bin lock pins a virtual thread's
+ * carrier for the whole query. Concurrent misses for a key may therefore load twice.
+ */
+final class LookupCache<K, V> {
+
+    private final Cache<K, V> cache;
+    // Bumped before every invalidation; a load that overlapped one does not stay cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    LookupCache(String name, boolean enabled, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size under cache=<name>
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    V get(K key, Function<? super K, ? extends V> loader) {
+        if (cache == null) {
+            return loader.apply(key);
+        }
+        V value = cache.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        long seen = invalidations.get();
+        value = loader.apply(key);
+        cache.put(key, value);
+        // The loaded value may predate that invalidation; an invalidation after this check removes it itself
+        if (invalidations.get() != seen) {
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    V getIfPresent(K key) {
+        return cache != null ? cache.getIfPresent(key) : null;
+    }
+
+    void invalidate(K key) {
+        if (cache != null && key != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(key);
+        }
+    }
+
+    void invalidateAll() {
+        if (cache != null) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+}
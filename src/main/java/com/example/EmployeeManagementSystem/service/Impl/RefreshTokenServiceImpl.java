@@ -0,0 +1,101 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.entity.RefreshToken;
+import com.example.EmployeeManagementSystem.exceptions.UnauthorizedException;
+import com.example.EmployeeManagementSystem.repository.RefreshTokenRepository;
+import com.example.EmployeeManagementSystem.security.TokenHashing;
+import com.example.EmployeeManagementSystem.service.RefreshTokenService;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque, rotating refresh tokens. Only the SHA-256 of a token is stored, so an
+ * exchange costs one indexed lookup instead of a BCrypt password check.
+ */
+@Timed(value = "api.service", histogram = true)
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   @Value("${security.jwt.refresh-expiration:P14D}") Duration refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    @Override
+    @Transactional
+    public String issue(String username) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(TokenHashing.sha256(rawToken));
+        refreshToken.setUsername(username);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(refreshExpiration));
+        refreshTokenRepository.save(refreshToken);
+
+        return rawToken;
+    }
+
+    @Override
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new UnauthorizedException("Refresh token is required");
+        }
+
+        RefreshToken existing = refreshTokenRepository.findByTokenHash(TokenHashing.sha256(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        if (existing.getExpiresAt().isBefore(Instant.now())) {
+            throw new UnauthorizedException("Refresh token expired");
+        }
+
+        // A revoked token being replayed means it leaked: revoke the whole family
+        if (existing.isRevoked() || refreshTokenRepository.revokeIfActive(existing.getId()) == 0) {
+            int revoked = refreshTokenRepository.revokeAllByUsername(existing.getUsername());
+            log.warn("Refresh token reuse detected for user={}, revoked {} tokens", existing.getUsername(), revoked);
+            throw new UnauthorizedException("Refresh token already used");
+        }
+
+        return new Rotation(existing.getUsername(), issue(existing.getUsername()));
+    }
+
+    @Override
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(TokenHashing.sha256(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeIfActive(token.getId()));
+    }
+
+    @Scheduled(cron = "${security.jwt.refresh-purge-cron:0 0 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.EmployeeManagementSystem.service;
+
+public interface RefreshTokenService {
+
+    // Issue a new refresh token for the user and return its raw value
+    String issue(String username);
+
+    // Exchange a refresh token for a new one; the presented token is revoked
+    Rotation rotate(String rawToken);
+
+    // Revoke a single refresh token (no-op if unknown)
+    void revoke(String rawToken);
+
+    record Rotation(String username, String refreshToken) {
+    }
+}
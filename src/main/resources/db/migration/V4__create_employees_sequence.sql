@@ -0,0 +1,10 @@
+-- Table-backed sequence for employee ids (MySQL has no native sequences).
+-- Hibernate's pooled optimizer reserves blocks of 50 ids, so inserts no longer
+-- need IDENTITY round trips and can be sent as JDBC batches.
+CREATE TABLE employees_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+-- First block must start above every existing id (pooled hands out next_val - 49 .. next_val)
+INSERT INTO employees_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM employees;
@@ -0,0 +1,3 @@
+-- Row versions for optimistic locking and ETags
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE departments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
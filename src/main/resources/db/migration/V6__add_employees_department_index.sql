@@ -0,0 +1,2 @@
+-- Department-filtered listings: equality on department_id, ordered by id
+CREATE INDEX idx_employees_department_id_id ON employees (department_id, id);
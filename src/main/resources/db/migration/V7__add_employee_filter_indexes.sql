@@ -0,0 +1,11 @@
+-- Domain part of the e-mail, maintained by MySQL so it can be indexed
+ALTER TABLE employees
+    ADD COLUMN email_domain VARCHAR(255)
+        GENERATED ALWAYS AS (LOWER(SUBSTRING_INDEX(email, '@', -1))) STORED;
+
+-- One index per filter shape; each also serves that filter combined with the others
+CREATE INDEX idx_employees_salary ON employees (salary);
+CREATE INDEX idx_employees_last_name ON employees (last_name);
+CREATE INDEX idx_employees_email_domain ON employees (email_domain);
+CREATE INDEX idx_employees_department_salary ON employees (department_id, salary);
+CREATE INDEX idx_employees_department_last_name ON employees (department_id, last_name);
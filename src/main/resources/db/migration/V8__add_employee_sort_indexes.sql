@@ -0,0 +1,6 @@
+-- Indexes for the sortable fields (EmployeeSortField). InnoDB appends the primary key to
+-- every secondary index, so each is effectively (column, id) and also covers the id tiebreaker.
+-- email (unique), last_name and salary are already indexed; department-filtered variants follow.
+CREATE INDEX idx_employees_first_name ON employees (first_name);
+CREATE INDEX idx_employees_department_first_name ON employees (department_id, first_name);
+CREATE INDEX idx_employees_department_email ON employees (department_id, email);
@@ -0,0 +1,3 @@
+-- Covers the department ETag fingerprint (count / sum / xor over id and version of its employees)
+-- without touching the rows; the primary key is implicitly part of the index
+CREATE INDEX idx_employees_department_version ON employees (department_id, version);
@@ -0,0 +1,91 @@
+package com.example.EmployeeManagementSystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MDCLoggingFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+
+    @RestController
+    static class TestController {
+
+        @GetMapping("/sync")
+        Map<String, String> sync() {
+            return Map.of("mode", "sync");
+        }
+
+        @GetMapping("/async")
+        CompletableFuture<Map<String, String>> async() {
+            return CompletableFuture.supplyAsync(() -> Map.of("mode", "async"));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MDCLoggingFilter filter = new MDCLoggingFilter(new SqlStatementCounter(meterRegistry), Duration.ofSeconds(1), 25, true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController())
+                .setControllerAdvice(new ServerTimingResponseAdvice(true))
+                .addFilters(filter)
+                .build();
+    }
+
+    @Test
+    void reusesAValidInboundRequestId() throws Exception {
+        mockMvc.perform(get("/sync").header("X-Request-Id", "client-42.a_b"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-Id", "client-42.a_b"))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+        assertThat(recordedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void replacesAnUnsafeInboundRequestId() throws Exception {
+        String requestId = mockMvc.perform(get("/sync").header("X-Request-Id", "bad id\nforged log line"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("X-Request-Id");
+
+        assertThat(requestId).matches("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}");
+    }
+
+    @Test
+    void asyncRequestIsMeasuredOnceAcrossBothDispatches() throws Exception {
+        MvcResult started = mockMvc.perform(get("/async").header("X-Request-Id", "async-1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Nothing is summarized while the handler is still running
+        assertThat(recordedRequests()).isZero();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Request-Id", "async-1"))
+                .andExpect(header().string("Server-Timing", containsString("total;dur=")));
+        assertThat(recordedRequests()).isEqualTo(1);
+    }
+
+    private long recordedRequests() {
+        DistributionSummary summary = meterRegistry.find("hibernate.request.statements").summary();
+        return summary != null ? summary.count() : 0;
+    }
+}
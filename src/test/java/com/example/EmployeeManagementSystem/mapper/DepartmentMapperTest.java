@@ -0,0 +1,56 @@
+package com.example.EmployeeManagementSystem.mapper;
+
+import com.example.EmployeeManagementSystem.dto.DepartmentResponse;
+import com.example.EmployeeManagementSystem.dto.EmployeeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DepartmentMapperTest {
+
+    @Test
+    void copyIsEqualButSharesNoMutableState() {
+        DepartmentResponse source = new DepartmentResponse();
+        source.setId(1L);
+        source.setName("IT");
+        source.setLocation("Pune");
+        source.setVersion(3L);
+        source.setEmployeeCount(1L);
+        source.setEmployees(new ArrayList<>(List.of(employee(10L, "Ann"))));
+
+        DepartmentResponse copy = DepartmentMapper.copy(source);
+        assertThat(copy).isEqualTo(source);
+
+        copy.setName("Sales");
+        copy.getEmployees().get(0).setFirstName("Bob");
+        copy.getEmployees().add(employee(11L, "Cy"));
+
+        assertThat(source.getName()).isEqualTo("IT");
+        assertThat(source.getEmployees()).hasSize(1);
+        assertThat(source.getEmployees().get(0).getFirstName()).isEqualTo("Ann");
+    }
+
+    @Test
+    void copyKeepsTheContentVersion() {
+        DepartmentResponse source = new DepartmentResponse();
+        source.setVersion(2L);
+        source.setEmployees(List.of(employee(10L, "Ann"), employee(11L, "Bob")));
+
+        assertThat(DepartmentMapper.contentVersion(DepartmentMapper.copy(source)))
+                .isEqualTo(DepartmentMapper.contentVersion(source));
+        assertThat(DepartmentMapper.copy(null)).isNull();
+    }
+
+    private static EmployeeResponse employee(Long id, String firstName) {
+        EmployeeResponse employee = new EmployeeResponse();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setSalary(new BigDecimal("1000.00"));
+        employee.setVersion(1L);
+        return employee;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.EmployeeManagementSystem.mapper;
+
+import com.example.EmployeeManagementSystem.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmployeeCursorMapperTest {
+
+    @Test
+    void seekSortEndsWithIdAsTiebreaker() {
+        assertThat(EmployeeCursorMapper.seekSort("lastName", Sort.Direction.DESC))
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "lastName").and(Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(EmployeeCursorMapper.seekSort("id", Sort.Direction.ASC))
+                .isEqualTo(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    @Test
+    void roundTripsStringKeys() {
+        Sort sort = EmployeeCursorMapper.seekSort("lastName", Sort.Direction.DESC);
+        String token = EmployeeCursorMapper.encode(sort, position("lastName", "O'Brien, \"Jr\"", "id", 42L));
+
+        EmployeeCursorMapper.EmployeeCursor cursor = EmployeeCursorMapper.decode(token);
+
+        assertThat(cursor.sort()).isEqualTo(sort);
+        assertThat(keys(cursor)).containsExactly(Map.entry("lastName", "O'Brien, \"Jr\""), Map.entry("id", 42L));
+        assertThat(((KeysetScrollPosition) cursor.position()).scrollsForward()).isTrue();
+    }
+
+    @Test
+    void writesSalaryKeysInPlainNotation() {
+        Sort sort = EmployeeCursorMapper.seekSort("salary", Sort.Direction.ASC);
+        String token = EmployeeCursorMapper.encode(sort, position("salary", new BigDecimal("1E+3"), "id", 7L));
+
+        Map<String, Object> keys = keys(EmployeeCursorMapper.decode(token));
+
+        assertThat(keys.get("salary")).isEqualTo(new BigDecimal("1000"));
+        assertThat(keys.get("id")).isEqualTo(7L);
+    }
+
+    @Test
+    void tokensAreUrlSafe() {
+        Sort sort = EmployeeCursorMapper.seekSort("email", Sort.Direction.ASC);
+        String token = EmployeeCursorMapper.encode(sort, position("email", "??>>~~@example.com", "id", 1L));
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> EmployeeCursorMapper.decode("not a cursor!"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> EmployeeCursorMapper.decode(encodeJson("{\"sort\":\"id\"}")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void rejectsTokensWithMissingOrUnparsableKeys() {
+        String missingId = encodeJson("{\"sort\":\"lastName\",\"dir\":\"ASC\",\"keys\":{\"lastName\":\"Lee\"}}");
+        String badSalary = encodeJson("{\"sort\":\"salary\",\"dir\":\"ASC\",\"keys\":{\"salary\":\"abc\",\"id\":\"1\"}}");
+
+        assertThatThrownBy(() -> EmployeeCursorMapper.decode(missingId)).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> EmployeeCursorMapper.decode(badSalary)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void rejectsTokensSortingByAPropertyOutsideTheAllowList() {
+        String token = encodeJson("{\"sort\":\"password\",\"dir\":\"ASC\",\"keys\":{\"password\":\"x\",\"id\":\"1\"}}");
+
+        assertThatThrownBy(() -> EmployeeCursorMapper.decode(token))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Cannot sort by 'password'");
+    }
+
+    private static ScrollPosition position(String property, Object value, String idProperty, Object id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, value);
+        keys.put(idProperty, id);
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Map<String, Object> keys(EmployeeCursorMapper.EmployeeCursor cursor) {
+        return ((KeysetScrollPosition) cursor.position()).getKeys();
+    }
+
+    private static String encodeJson(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.EmployeeManagementSystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenIssuedAfterRegistryTest {
+
+    private final TokenIssuedAfterRegistry registry = new TokenIssuedAfterRegistry();
+
+    @Test
+    void acceptsTokensOfUsersWithoutAWatermark() {
+        assertThat(registry.isCurrent("alice", new Date())).isTrue();
+    }
+
+    @Test
+    void rejectsATokenIssuedEarlierInTheSameSecondAsTheRevocation() {
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        registry.revokeIssuedBefore("alice", second + 500);
+
+        // A token issued at second + 200, before the revocation, carries iat = second
+        assertThat(registry.isCurrent("alice", new Date(second))).isFalse();
+        assertThat(registry.isCurrent("alice", new Date(second + 1000))).isTrue();
+        assertThat(registry.isCurrent("alice", null)).isFalse();
+    }
+
+    @Test
+    void acceptsATokenWhoseIssueSecondStartsAtTheWatermark() {
+        long second = System.currentTimeMillis() / 1000 * 1000;
+        registry.revokeIssuedBefore("alice", second);
+
+        assertThat(registry.isCurrent("alice", new Date(second))).isTrue();
+        assertThat(registry.isCurrent("alice", new Date(second - 1000))).isFalse();
+    }
+
+    @Test
+    void laterRevocationsOnlyMoveTheWatermarkForward() {
+        long now = System.currentTimeMillis();
+        registry.revokeIssuedBefore("alice", now);
+        registry.revokeIssuedBefore("alice", now - 60_000);
+
+        assertThat(registry.isCurrent("alice", new Date(now - 30_000))).isFalse();
+    }
+
+    @Test
+    void forgetsWatermarksOlderThanTheTokenLifetime() {
+        long longAgo = System.currentTimeMillis() - JwtUtil.EXPIRATION - 1000;
+        registry.revokeIssuedBefore("alice", longAgo);
+
+        assertThat(registry.isCurrent("alice", new Date(longAgo - 5000))).isTrue();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.EmployeeManagementSystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    @Test
+    void reportsRevokedTokensOnly() {
+        TokenRevocationList list = new TokenRevocationList(1000, 0.01);
+        list.revoke("jti-1", inOneHour());
+
+        assertThat(list.isRevoked("jti-1")).isTrue();
+        assertThat(list.isRevoked("jti-2")).isFalse();
+        assertThat(list.isRevoked(null)).isFalse();
+    }
+
+    @Test
+    void ignoresTokensThatHaveAlreadyExpired() {
+        TokenRevocationList list = new TokenRevocationList(1000, 0.01);
+        list.revoke("expired", new Date(System.currentTimeMillis() - 1000));
+        list.revoke("no-expiry", null);
+
+        assertThat(list.size()).isZero();
+        assertThat(list.isRevoked("expired")).isFalse();
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndKeepsLiveOnes() throws InterruptedException {
+        TokenRevocationList list = new TokenRevocationList(1000, 0.01);
+        list.revoke("short-lived", new Date(System.currentTimeMillis() + 50));
+        list.revoke("long-lived", inOneHour());
+        Thread.sleep(100);
+
+        list.purgeExpired();
+
+        assertThat(list.size()).isEqualTo(1);
+        assertThat(list.isRevoked("short-lived")).isFalse();
+        assertThat(list.isRevoked("long-lived")).isTrue();
+    }
+
+    @Test
+    void filterRebuiltForMoreEntriesThanExpectedKeepsEveryRevocation() {
+        TokenRevocationList list = new TokenRevocationList(10, 0.01);
+        for (int i = 0; i < 500; i++) {
+            list.revoke("jti-" + i, inOneHour());
+        }
+
+        list.purgeExpired();
+
+        assertThat(list.size()).isEqualTo(500);
+        for (int i = 0; i < 500; i++) {
+            assertThat(list.isRevoked("jti-" + i)).isTrue();
+        }
+        assertThat(list.isRevoked("jti-500")).isFalse();
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        TokenRevocationList.BloomFilter filter = new TokenRevocationList.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilterFalsePositiveRateStaysNearTheConfiguredRate() {
+        TokenRevocationList.BloomFilter filter = new TokenRevocationList.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 3_600_000);
+    }
+}
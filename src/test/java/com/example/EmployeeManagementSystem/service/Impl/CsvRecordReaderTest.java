@@ -0,0 +1,79 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void readsPlainRecordsWithLfAndCrlfEndings() throws IOException {
+        assertThat(readAll("a,b,c\n1,2,3\n")).containsExactly(List.of("a", "b", "c"), List.of("1", "2", "3"));
+        assertThat(readAll("a,b\r\n1,2\r\n")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void lastRecordNeedNotEndWithALineBreak() throws IOException {
+        assertThat(readAll("a,b\n1,2")).containsExactly(List.of("a", "b"), List.of("1", "2"));
+    }
+
+    @Test
+    void emptyInputHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll("a,,\n,b,\n")).containsExactly(List.of("a", "", ""), List.of("", "b", ""));
+    }
+
+    @Test
+    void quotedFieldsMayContainCommasAndDoubledQuotes() throws IOException {
+        assertThat(readAll("\"Smith, Ann\",\"say \"\"hi\"\"\",\"\"\n"))
+                .containsExactly(List.of("Smith, Ann", "say \"hi\"", ""));
+    }
+
+    @Test
+    void quoteInsideAnUnquotedFieldIsLiteral() throws IOException {
+        assertThat(readAll("O\"Brien,x\n")).containsExactly(List.of("O\"Brien", "x"));
+    }
+
+    @Test
+    void quotedFieldsKeepEmbeddedLineBreaks() throws IOException {
+        List<List<String>> records = readAll("id,note\r\n1,\"first\r\nsecond\"\r\n2,\"a\nb\"\n");
+
+        assertThat(records).containsExactly(
+                List.of("id", "note"),
+                List.of("1", "first\r\nsecond"),
+                List.of("2", "a\nb"));
+    }
+
+    @Test
+    void recordLineCountsLineBreaksInsideQuotedFields() throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader("id,note\r\n1,\"x\r\ny\r\nz\"\r\n2,w\r\n"))) {
+            reader.next();
+            assertThat(reader.recordLine()).isEqualTo(1);
+            reader.next();
+            assertThat(reader.recordLine()).isEqualTo(2);
+            assertThat(reader.next()).containsExactly("2", "w");
+            assertThat(reader.recordLine()).isEqualTo(5);
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.dto.DepartmentStatsResponse;
+import com.example.EmployeeManagementSystem.event.DepartmentChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DepartmentStatsServiceImplTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final DepartmentRepository departmentRepository = mock(DepartmentRepository.class);
+    private final DepartmentStatsServiceImpl service = new DepartmentStatsServiceImpl(
+            employeeRepository, departmentRepository, mock(PlatformTransactionManager.class));
+
+    @Test
+    void reseedReplaysChangesCommittedWhileTheAggregateQueryRuns() {
+        when(departmentRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(employeeRepository.aggregateSalariesByDepartment()).thenAnswer(invocation -> {
+            // Committed after the query read its snapshot, so the rows below do not include them
+            service.onEmployeeChanged(EmployeeChangedEvent.created(employee(10, 1L, "300")));
+            service.onDepartmentChanged(new DepartmentChangedEvent(3L, DepartmentChangedEvent.Type.CREATED, 0));
+            service.onDepartmentChanged(new DepartmentChangedEvent(2L, DepartmentChangedEvent.Type.DELETED, 0));
+            return rows(new Object[]{1L, 2L, new BigDecimal("200"), new BigDecimal("50"), new BigDecimal("150")});
+        });
+
+        service.reseed();
+
+        DepartmentStatsResponse stats = service.getStats(1L);
+        assertThat(stats.getHeadcount()).isEqualTo(3);
+        assertThat(stats.getSalarySum()).isEqualByComparingTo("500");
+        assertThat(stats.getSalaryMin()).isEqualByComparingTo("50");
+        assertThat(stats.getSalaryMax()).isEqualByComparingTo("300");
+        assertThat(service.getAllStats()).extracting(DepartmentStatsResponse::getDepartmentId)
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void changeCommittedBeforeTheSnapshotIsNotReplayed() throws Exception {
+        AtomicBoolean committed = new AtomicBoolean();
+        CountDownLatch commitDone = new CountDownLatch(1);
+        CountDownLatch runListeners = new CountDownLatch(1);
+        CountDownLatch listenersDone = new CountDownLatch(1);
+        when(departmentRepository.findAllIds()).thenReturn(List.of(1L));
+        when(employeeRepository.aggregateSalariesByDepartment()).thenAnswer(invocation -> {
+            // Without the guard the reseed gets here first and the listener lands in the buffer
+            listenersDone.await(1, TimeUnit.SECONDS);
+            return committed.get()
+                    ? rows(new Object[]{1L, 1L, new BigDecimal("100"), new BigDecimal("100"), new BigDecimal("100")})
+                    : rows();
+        });
+
+        // A writing transaction that has committed but not yet run its after-commit listeners
+        Thread writer = Thread.ofVirtual().start(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                service.onEmployeeChangePublished();
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+                synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+                committed.set(true);
+                commitDone.countDown();
+
+                runListeners.await(5, TimeUnit.SECONDS);
+                service.onEmployeeChanged(EmployeeChangedEvent.created(employee(10, 1L, "100")));
+                listenersDone.countDown();
+                synchronizations.forEach(synchronization ->
+                        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        });
+        assertThat(commitDone.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread reseed = Thread.ofVirtual().start(service::reseed);
+        awaitBlocked(reseed);
+        runListeners.countDown();
+        writer.join(5000);
+        reseed.join(5000);
+
+        DepartmentStatsResponse stats = service.getStats(1L);
+        assertThat(stats.getHeadcount()).isEqualTo(1);
+        assertThat(stats.getSalarySum()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    void changesAfterTheReseedAreNotReplayedTwice() {
+        when(departmentRepository.findAllIds()).thenReturn(List.of(1L));
+        when(employeeRepository.aggregateSalariesByDepartment()).thenReturn(
+                rows(new Object[]{1L, 1L, new BigDecimal("100"), new BigDecimal("100"), new BigDecimal("100")}));
+
+        service.reseed();
+        service.onEmployeeChanged(EmployeeChangedEvent.created(employee(10, 1L, "300")));
+
+        assertThat(service.getStats(1L).getHeadcount()).isEqualTo(2);
+        assertThat(service.getStats(1L).getSalarySum()).isEqualByComparingTo("400");
+    }
+
+    @Test
+    void concurrentFirstReadsShareOneReseed() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(departmentRepository.findAllIds()).thenReturn(List.of(1L));
+        when(employeeRepository.aggregateSalariesByDepartment()).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return rows(new Object[]{1L, 1L, new BigDecimal("100"), new BigDecimal("100"), new BigDecimal("100")});
+        });
+
+        Thread first = Thread.ofVirtual().start(service::getAllStats);
+        assertThat(queryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread second = Thread.ofVirtual().start(() -> service.getStats(1L));
+        awaitBlocked(second);
+        releaseQuery.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        verify(employeeRepository, times(1)).aggregateSalariesByDepartment();
+        assertThat(service.getStats(1L).getHeadcount()).isEqualTo(1);
+    }
+
+    private static void awaitBlocked(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    private static EmployeeSnapshot employee(long id, Long departmentId, String salary) {
+        return new EmployeeSnapshot(id, departmentId, new BigDecimal(salary), "First", "Last", "e" + id + "@example.com");
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.event.EmployeeSnapshot;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmployeeSearchIndexTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final EmployeeSearchIndex index = new EmployeeSearchIndex(employeeRepository, 2);
+
+    @Test
+    void ranksExactThenPrefixThenWordStartThenSubstringWithNamesAboveEmail() {
+        create(2, "Joann", "Lee", "joann@example.com");        // substring in a name: 1 * 3
+        create(6, "Zed", "Quinn", "zq.annex@example.com");     // word start in the e-mail: 2 * 2
+        create(5, "Sue-ann", "Park", "sue@example.com");       // word start in a name: 2 * 3
+        create(3, "Anna", "Brown", "anna.b@example.com");      // name prefix: 4 * 3
+        create(4, "Bob", "Ann", "bob@example.com");            // exact last name: 5 * 3
+        create(1, "Ann", "Smith", "ann.smith@example.com");    // exact first name: 5 * 3
+        create(7, "Carl", "Jones", "carl@example.com");        // no match
+
+        EmployeeSearchIndex.SearchResult result = index.search("ann", 0, 10);
+
+        // Equal scores (1 and 4) are ordered by id
+        assertThat(result.ids()).containsExactly(1L, 4L, 3L, 5L, 6L, 2L);
+        assertThat(result.total()).isEqualTo(6);
+    }
+
+    @Test
+    void pagesThroughTheRankedResults() {
+        create(1, "Ann", "Smith", "ann.smith@example.com");
+        create(3, "Anna", "Brown", "anna.b@example.com");
+        create(5, "Sue-ann", "Park", "sue@example.com");
+        create(2, "Joann", "Lee", "joann@example.com");
+
+        EmployeeSearchIndex.SearchResult page = index.search("ann", 1, 2);
+
+        assertThat(page.ids()).containsExactly(3L, 5L);
+        assertThat(page.total()).isEqualTo(4);
+        assertThat(index.search("ann", 10, 2).ids()).isEmpty();
+    }
+
+    @Test
+    void oneAndTwoCharacterQueriesMatchFieldPrefixesOnly() {
+        create(1, "Ann", "Smith", "ann.smith@example.com");
+        create(2, "Joann", "Lee", "joann@example.com");
+        create(3, "Anna", "Brown", "brown@example.com");
+        create(4, "Bob", "Ann", "bob@example.com");
+
+        assertThat(index.search("an", 0, 10).ids()).containsExactly(1L, 3L, 4L);
+        assertThat(index.search("j", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("br", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("nn", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void queriesAreTrimmedAndCaseInsensitive() {
+        create(1, "Ann", "Smith", "ann.smith@example.com");
+
+        assertThat(index.search("  SMITH ", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("   ", 0, 10).total()).isZero();
+        assertThat(index.search(null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void trigramHitsAreVerifiedAgainstTheText() {
+        // Both trigrams of "abcd" ("abc", "bcd") occur, but never as one substring
+        create(1, "Abcx", "Xbcd", "q@example.com");
+
+        assertThat(index.search("abcd", 0, 10).ids()).isEmpty();
+        assertThat(index.search("bcd", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void updatesAndDeletesMaintainThePostings() {
+        EmployeeSnapshot ann = create(1, "Ann", "Smith", "ann.smith@example.com");
+        create(2, "Anna", "Brown", "anna.b@example.com");
+        EmployeeSnapshot bob = create(3, "Bob", "Ann", "bob@example.com");
+
+        EmployeeSnapshot bea = snapshot(1, "Bea", "Smith", "bea@example.com");
+        index.onEmployeeChanged(EmployeeChangedEvent.updated(ann, bea));
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(bob));
+
+        assertThat(index.search("ann", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("bea", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("smith", 0, 10).ids()).containsExactly(1L);
+        assertThat(index.search("bo", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void changeToFieldsTheIndexIgnoresKeepsTheEntry() {
+        EmployeeSnapshot ann = create(1, "Ann", "Smith", "ann.smith@example.com");
+        EmployeeSnapshot raised = new EmployeeSnapshot(1L, 9L, new BigDecimal("99000"), "Ann", "Smith", "ann.smith@example.com");
+
+        index.onEmployeeChanged(EmployeeChangedEvent.updated(ann, raised));
+
+        assertThat(index.search("ann", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void idsArrivingOutOfOrderStaySortedAndRemovable() {
+        create(10, "Ann", "One", "a10@example.com");
+        create(4, "Ann", "Two", "a4@example.com");
+        EmployeeSnapshot seven = create(7, "Ann", "Three", "a7@example.com");
+        create(1, "Ann", "Four", "a1@example.com");
+        create(7, "Ann", "Three", "a7@example.com"); // duplicate add is a no-op
+
+        assertThat(index.search("ann", 0, 10).ids()).containsExactly(1L, 4L, 7L, 10L);
+
+        index.onEmployeeChanged(EmployeeChangedEvent.deleted(seven));
+        assertThat(index.search("ann", 0, 10).ids()).containsExactly(1L, 4L, 10L);
+    }
+
+    @Test
+    void rebuildLoadsInBatchesAndReplaysChangesCommittedMeanwhile() {
+        create(50, "Old", "Entry", "old@example.com"); // only in the index being replaced
+
+        List<Object[]> firstBatch = new ArrayList<>();
+        firstBatch.add(new Object[]{1L, "Ann", "Smith", "ann.smith@example.com"});
+        firstBatch.add(new Object[]{2L, "Joann", "Lee", "joann@example.com"});
+        List<Object[]> secondBatch = new ArrayList<>();
+        secondBatch.add(new Object[]{3L, "Anna", "Brown", "anna.b@example.com"});
+        when(employeeRepository.findSearchFieldsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            if (afterId == 0L) {
+                // Committed while the first batch is being read: the batch still sees employee 1
+                index.onEmployeeChanged(EmployeeChangedEvent.deleted(snapshot(1, "Ann", "Smith", "ann.smith@example.com")));
+                create(99, "Annie", "New", "annie@example.com");
+                return firstBatch;
+            }
+            return afterId == 2L ? secondBatch : List.of();
+        });
+
+        index.rebuild();
+
+        assertThat(index.search("ann", 0, 10).ids()).containsExactly(3L, 99L, 2L);
+        assertThat(index.search("old", 0, 10).ids()).isEmpty();
+    }
+
+    private EmployeeSnapshot create(long id, String firstName, String lastName, String email) {
+        EmployeeSnapshot snapshot = snapshot(id, firstName, lastName, email);
+        index.onEmployeeChanged(EmployeeChangedEvent.created(snapshot));
+        return snapshot;
+    }
+
+    private static EmployeeSnapshot snapshot(long id, String firstName, String lastName, String email) {
+        return new EmployeeSnapshot(id, null, new BigDecimal("50000"), firstName, lastName, email);
+    }
+}
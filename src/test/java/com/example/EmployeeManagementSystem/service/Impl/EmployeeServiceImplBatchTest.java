@@ -0,0 +1,105 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import com.example.EmployeeManagementSystem.dto.BatchCreateResponse;
+import com.example.EmployeeManagementSystem.dto.BatchItemResult;
+import com.example.EmployeeManagementSystem.dto.EmployeeRequest;
+import com.example.EmployeeManagementSystem.entity.Employee;
+import com.example.EmployeeManagementSystem.event.EmployeeChangedEvent;
+import com.example.EmployeeManagementSystem.repository.DepartmentRepository;
+import com.example.EmployeeManagementSystem.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmployeeServiceImplBatchTest {
+
+    private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+    private final Validator validator = mock(Validator.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final AtomicLong ids = new AtomicLong();
+
+    private EmployeeServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EmployeeServiceImpl(employeeRepository, mock(DepartmentRepository.class), eventPublisher,
+                null, validator, mock(EntityManager.class), null, null, null, null,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "batchMaxSize", 100);
+        ReflectionTestUtils.setField(service, "batchChunkSize", 2);
+        when(employeeRepository.findExistingEmails(any())).thenReturn(List.of());
+    }
+
+    @Test
+    void chunkRejectedByTheDatabaseFailsOnlyItsOwnItems() {
+        // Second chunk (items 2 and 3) hits a unique key inserted concurrently after the pre-check
+        when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Employee> chunk = invocation.getArgument(0);
+            if (chunk.get(0).getEmail().equals("c@example.com")) {
+                throw new DataIntegrityViolationException("Duplicate entry 'd@example.com' for key 'uk_email'");
+            }
+            chunk.forEach(employee -> employee.setId(ids.incrementAndGet()));
+            return chunk;
+        });
+
+        BatchCreateResponse response = service.createBatch(requests("a", "b", "c", "d", "e"));
+
+        assertThat(response.getCreated()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        List<BatchItemResult> results = response.getResults();
+        assertThat(results).extracting(BatchItemResult::getId).containsExactly(1L, 2L, null, null, 3L);
+        assertThat(results.get(2).getError()).startsWith("rejected by the database: ");
+        assertThat(results.get(3).getError()).startsWith("rejected by the database: ");
+
+        // Each chunk in its own transaction; the failed one is rolled back, the others committed
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(eventPublisher, times(3)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void otherDatabaseErrorsStillFailTheRequest() {
+        when(employeeRepository.saveAll(anyList())).thenThrow(new IllegalStateException("connection lost"));
+
+        assertThatThrownBy(() -> service.createBatch(requests("a")))
+                .isInstanceOf(IllegalStateException.class);
+        verify(transactionManager).rollback(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    private static List<EmployeeRequest> requests(String... names) {
+        List<EmployeeRequest> requests = new ArrayList<>();
+        for (String name : names) {
+            EmployeeRequest request = new EmployeeRequest();
+            request.setFirstName(name);
+            request.setLastName("Test");
+            request.setEmail(name + "@example.com");
+            request.setSalary(new BigDecimal("1000"));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.EmployeeManagementSystem.service.Impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LookupCacheTest {
+
+    private final LookupCache<Long, String> cache =
+            new LookupCache<>("test", true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Test
+    void loadsOnceAndServesHitsFromTheCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, id -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get(1L, id -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getIfPresent(1L)).isEqualTo("v1");
+    }
+
+    @Test
+    void loaderExceptionsAreNotCached() {
+        assertThatThrownBy(() -> cache.get(1L, id -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L, id -> "found")).isEqualTo("found");
+    }
+
+    @Test
+    void invalidateDropsTheEntry() {
+        cache.get(1L, id -> "old");
+        cache.get(2L, id -> "other");
+
+        cache.invalidate(1L);
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(2L)).isEqualTo("other");
+
+        cache.invalidateAll();
+        assertThat(cache.getIfPresent(2L)).isNull();
+    }
+
+    @Test
+    void valueLoadedBeforeAConcurrentInvalidationIsNotKept() {
+        // The loader read "stale" data, then a write committed and invalidated before the put
+        String value = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return "stale";
+        });
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(cache.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void disabledCacheAlwaysCallsTheLoader() {
+        LookupCache<Long, String> disabled =
+                new LookupCache<>("disabled", false, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        disabled.get(1L, id -> "v" + loads.incrementAndGet());
+        disabled.get(1L, id -> "v" + loads.incrementAndGet());
+
+        assertThat(loads).hasValue(2);
+        assertThat(disabled.getIfPresent(1L)).isNull();
+    }
+
+    @Test
+    void blockingLoaderDoesNotPinTheVirtualThread() throws Exception {
+        List<RecordedEvent> pinned;
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO);
+            recording.start();
+
+            // The loader parks, like a JDBC read; under a monitor that would be reported as pinned
+            CountDownLatch loaded = new CountDownLatch(1);
+            Thread.ofVirtual().start(() -> {
+                cache.get(1L, id -> {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "loaded";
+                });
+                loaded.countDown();
+            }).join();
+
+            recording.stop();
+            assertThat(loaded.getCount()).isZero();
+            Path dump = Files.createTempFile("lookup-cache", ".jfr");
+            try {
+                recording.dump(dump);
+                pinned = RecordingFile.readAllEvents(dump);
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+        }
+        assertThat(pinned).isEmpty();
+    }
+}